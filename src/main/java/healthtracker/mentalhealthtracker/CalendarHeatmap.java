@@ -0,0 +1,180 @@
+package healthtracker.mentalhealthtracker;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+// Calendar heatmap drawn straight onto one canvas: one block of week columns by weekday rows per
+// year, stacked vertically. Values live in a primitive array indexed by day, prepared off the FX thread,
+// and hover lookups invert the layout arithmetically instead of keeping a node per cell. Any change is
+// a full redraw, which takes well under a millisecond for ten years.
+class CalendarHeatmap extends Canvas {
+    private static final double CELL = 12;
+    private static final double CELL_GAP = 2;
+    private static final double LEFT = 44;
+    private static final double YEAR_LABEL = 18;
+    private static final double YEAR_GAP = 10;
+    private static final double YEAR_HEIGHT = YEAR_LABEL + 7 * CELL + YEAR_GAP;
+    private static final int WEEK_COLUMNS = 54;
+    private static final int LEVELS = 8;
+    private static final Color EMPTY = Color.web("#ebedf0");
+    private static final Color LABEL = Color.web("#424242");
+    private final Color[] palette = new Color[LEVELS];
+    private Values values = prepare(Map.of(), Metric.MENTAL_HEALTH_INDEX);
+
+    enum Metric {
+        MENTAL_HEALTH_INDEX("Mental Health Index", "#9c27b0", 10, data -> data.mentalHealthIndex),
+        MOOD_RATING("Mood Rating", "#2196f3", 10, data -> data.moodRating),
+        SCREEN_TIME("Screen Time", "#4caf50", 12, data -> data.screenTime),
+        SLEEP_TIME("Sleep Time", "#ff9800", 12, data -> data.sleepTime);
+
+        final String label;
+        final Color color;
+        final double max;
+        final ToDoubleFunction<EntryData> extractor;
+
+        Metric(String label, String color, double max, ToDoubleFunction<EntryData> extractor) {
+            this.label = label;
+            this.color = Color.web(color);
+            this.max = max;
+            this.extractor = extractor;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // One metric's value for every day of the covered years, NaN where there is no entry
+    record Values(Metric metric, Layout layout, long firstEpochDay, double[] days) {
+        double at(LocalDate date) {
+            return days[(int) (date.toEpochDay() - firstEpochDay)];
+        }
+    }
+
+    // Touches no scene graph, so it can run off the FX thread
+    static Values prepare(Map<LocalDate, EntryData> entries, Metric metric) {
+        int lastYear = LocalDate.now().getYear();
+        int firstYear = lastYear;
+        for (LocalDate date : entries.keySet()) {
+            firstYear = Math.min(firstYear, date.getYear());
+            lastYear = Math.max(lastYear, date.getYear());
+        }
+        long firstEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        double[] days = new double[(int) (LocalDate.of(lastYear, 12, 31).toEpochDay() - firstEpochDay + 1)];
+        Arrays.fill(days, Double.NaN);
+        entries.forEach((date, data) -> days[(int) (date.toEpochDay() - firstEpochDay)] =
+                metric.extractor.applyAsDouble(data));
+        return new Values(metric, new Layout(firstYear, lastYear), firstEpochDay, days);
+    }
+
+    void setData(Values values) {
+        this.values = values;
+        for (int i = 0; i < LEVELS; i++) {
+            palette[i] = EMPTY.interpolate(values.metric().color, (i + 1.0) / LEVELS);
+        }
+        setWidth(values.layout().width());
+        setHeight(values.layout().height());
+        redraw();
+    }
+
+    Metric getMetric() {
+        return values.metric();
+    }
+
+    double valueAt(LocalDate date) {
+        return values.at(date);
+    }
+
+    LocalDate dateAt(double x, double y) {
+        return values.layout().dateAt(x, y);
+    }
+
+    private void redraw() {
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.clearRect(0, 0, getWidth(), getHeight());
+        gc.setFont(Font.font(11));
+        gc.setTextBaseline(VPos.TOP);
+        Layout layout = values.layout();
+        double[] days = values.days();
+        for (int year = layout.firstYear(); year <= layout.lastYear(); year++) {
+            double top = layout.yearTop(year);
+            gc.setFill(LABEL);
+            gc.fillText(String.valueOf(year), 4, top + 2);
+            long yearStart = LocalDate.of(year, 1, 1).toEpochDay();
+            long yearEnd = LocalDate.of(year, 12, 31).toEpochDay();
+            long mondayOffset = yearStart - Layout.firstMonday(year).toEpochDay();
+            for (long day = yearStart; day <= yearEnd; day++) {
+                long offset = day - yearStart + mondayOffset;
+                drawCell(gc, LEFT + offset / 7 * CELL, top + YEAR_LABEL + offset % 7 * CELL,
+                        days[(int) (day - values.firstEpochDay())]);
+            }
+        }
+    }
+
+    private void drawCell(GraphicsContext gc, double x, double y, double value) {
+        if (Double.isNaN(value)) {
+            gc.setFill(EMPTY);
+        } else {
+            gc.setFill(palette[(int) (Math.max(0, Math.min(1, value / values.metric().max)) * (LEVELS - 1))]);
+        }
+        gc.fillRect(x, y, CELL - CELL_GAP, CELL - CELL_GAP);
+    }
+
+    // Where each day sits on the canvas. Pure arithmetic, so it needs no running toolkit.
+    record Layout(int firstYear, int lastYear) {
+        double width() {
+            return LEFT + WEEK_COLUMNS * CELL;
+        }
+
+        double height() {
+            return (lastYear - firstYear + 1) * YEAR_HEIGHT;
+        }
+
+        double yearTop(int year) {
+            return (year - firstYear) * YEAR_HEIGHT;
+        }
+
+        double cellX(LocalDate date) {
+            return LEFT + offset(date) / 7 * CELL;
+        }
+
+        double cellY(LocalDate date) {
+            return yearTop(date.getYear()) + YEAR_LABEL + offset(date) % 7 * CELL;
+        }
+
+        LocalDate dateAt(double x, double y) {
+            if (x < LEFT || y < 0) {
+                return null;
+            }
+            int yearIndex = (int) (y / YEAR_HEIGHT);
+            double inner = y - yearIndex * YEAR_HEIGHT - YEAR_LABEL;
+            int row = (int) Math.floor(inner / CELL);
+            int column = (int) ((x - LEFT) / CELL);
+            int year = firstYear + yearIndex;
+            if (inner < 0 || row > 6 || column >= WEEK_COLUMNS || year > lastYear) {
+                return null;
+            }
+            LocalDate date = firstMonday(year).plusDays(column * 7L + row);
+            return date.getYear() == year ? date : null;
+        }
+
+        static LocalDate firstMonday(int year) {
+            return LocalDate.of(year, 1, 1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        private static long offset(LocalDate date) {
+            return date.toEpochDay() - firstMonday(date.getYear()).toEpochDay();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+// Intraday mood check-ins, bucketed by month into <user>_checkins_<yyyy-MM>.txt with one
+// "date,time,moodType,moodRating" line per check-in. Each day's rollup is kept apart from both the
+// buckets and the daily entry, in <user>_checkin_rollups.txt ("date,moodType,moodRating", the latest
+// line per day wins), so charts and statistics read one small file and a month's bucket is only read
+// when one of its days is drilled into. The check-ins window reads a day off the FX thread, so the
+// cached buckets and rollups are guarded by this object's lock.
+class CheckInStore {
+    static final String ROLLUPS_SUFFIX = "_checkin_rollups.txt";
+    private final Path directory;
+    private final String username;
+    private final Map<YearMonth, Map<LocalDate, List<CheckIn>>> buckets = new HashMap<>();
+    private Map<LocalDate, Rollup> rollups;
+
+    CheckInStore(Path directory, String username) {
+        this.directory = directory;
+        this.username = username;
+    }
+
+    static CheckInStore forUser(String username) {
+        return new CheckInStore(Paths.get(""), username);
+    }
+
+    record CheckIn(LocalTime time, String moodType, int moodRating) {
+    }
+
+    record Rollup(String moodType, int moodRating) {
+    }
+
+    // Returns the day's new rollup
+    synchronized Rollup add(LocalDate date, CheckIn checkIn) throws IOException {
+        List<CheckIn> day = bucket(YearMonth.from(date)).computeIfAbsent(date, key -> new ArrayList<>());
+        Map<LocalDate, Rollup> rollups = rollups();
+        append(bucketFile(YearMonth.from(date)),
+                date + "," + checkIn.time() + "," + checkIn.moodType() + "," + checkIn.moodRating());
+        day.add(checkIn);
+        day.sort(Comparator.comparing(CheckIn::time));
+        Rollup rollup = rollup(day);
+        append(rollupsFile(), date + "," + rollup.moodType() + "," + rollup.moodRating());
+        rollups.put(date, rollup);
+        return rollup;
+    }
+
+    synchronized Rollup rollupFor(LocalDate date) {
+        return rollups().get(date);
+    }
+
+    synchronized Map<LocalDate, Rollup> rollups() {
+        if (rollups == null) {
+            rollups = readRollups();
+        }
+        return rollups;
+    }
+
+    synchronized List<CheckIn> forDay(LocalDate date) {
+        return List.copyOf(bucket(YearMonth.from(date)).getOrDefault(date, List.of()));
+    }
+
+    // The day's rating is the mean of its check-ins; its mood type is the most frequent one, with
+    // the latest check-in winning ties.
+    static Rollup rollup(List<CheckIn> checkIns) {
+        Map<String, Integer> moodCounts = new HashMap<>();
+        String moodType = null;
+        int sum = 0;
+        for (CheckIn checkIn : checkIns) {
+            int count = moodCounts.merge(checkIn.moodType(), 1, Integer::sum);
+            if (moodType == null || count >= moodCounts.get(moodType)) {
+                moodType = checkIn.moodType();
+            }
+            sum += checkIn.moodRating();
+        }
+        return new Rollup(moodType, Math.round((float) sum / checkIns.size()));
+    }
+
+    // Every check-in appends a rollup line, so superseded lines are dropped once they outnumber the days.
+    // Check-ins saved before rollups were kept apart are rolled up from their buckets the first time.
+    private Map<LocalDate, Rollup> readRollups() {
+        Map<LocalDate, Rollup> days = new TreeMap<>();
+        Path file = rollupsFile();
+        try {
+            if (!Files.exists(file)) {
+                rebuildRollups(days);
+                return days;
+            }
+            int lines = readRollups(file, days);
+            if (lines - days.size() > Math.max(days.size(), 32)) {
+                writeRollups(days);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return days;
+    }
+
+    // Also read by CohortAggregator, which never builds a CheckInStore. Later lines for a day replace
+    // earlier ones and malformed lines are skipped; returns the number of lines read.
+    static int readRollups(Path file, Map<LocalDate, Rollup> days) throws IOException {
+        int lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                String[] parts = line.split(",");
+                if (parts.length < 3) {
+                    continue;
+                }
+                try {
+                    days.put(LocalDate.parse(parts[0]), new Rollup(parts[1], Integer.parseInt(parts[2])));
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    // A line cut short by a crash only loses that one check-in's rollup
+                }
+            }
+        }
+        return lines;
+    }
+
+    private void rebuildRollups(Map<LocalDate, Rollup> days) throws IOException {
+        String prefix = username + "_checkins_";
+        List<YearMonth> months = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory.toAbsolutePath())) {
+            listing.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.matches(".*_\\d{4}-\\d{2}\\.txt"))
+                    .forEach(name -> months.add(YearMonth.parse(name.substring(prefix.length(), name.length() - 4))));
+        }
+        for (YearMonth month : months) {
+            bucket(month).forEach((date, checkIns) -> days.put(date, rollup(checkIns)));
+        }
+        if (!days.isEmpty()) {
+            writeRollups(days);
+        }
+    }
+
+    private void writeRollups(Map<LocalDate, Rollup> days) throws IOException {
+        List<String> lines = new ArrayList<>(days.size());
+        days.forEach((date, rollup) -> lines.add(date + "," + rollup.moodType() + "," + rollup.moodRating()));
+        Path temp = Files.createTempFile(directory.toAbsolutePath(), "rollups", ".tmp");
+        Files.write(temp, lines);
+        Files.move(temp, rollupsFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void append(Path file, String line) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line);
+            writer.newLine();
+        }
+    }
+
+    private Map<LocalDate, List<CheckIn>> bucket(YearMonth month) {
+        return buckets.computeIfAbsent(month, this::readBucket);
+    }
+
+    private Map<LocalDate, List<CheckIn>> readBucket(YearMonth month) {
+        Map<LocalDate, List<CheckIn>> days = new HashMap<>();
+        Path file = bucketFile(month);
+        if (!Files.exists(file)) {
+            return days;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                days.computeIfAbsent(LocalDate.parse(parts[0]), key -> new ArrayList<>())
+                        .add(new CheckIn(LocalTime.parse(parts[1]), parts[2], Integer.parseInt(parts[3])));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        days.values().forEach(day -> day.sort(Comparator.comparing(CheckIn::time)));
+        return days;
+    }
+
+    private Path rollupsFile() {
+        return directory.resolve(username + ROLLUPS_SUFFIX);
+    }
+
+    private Path bucketFile(YearMonth month) {
+        return directory.resolve(username + "_checkins_" + month + ".txt");
+    }
+}
@@ -0,0 +1,52 @@
+package healthtracker.mentalhealthtracker;
+
+import javafx.scene.Parent;
+import javafx.scene.control.TextArea;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// One day's check-ins. A single window is reused and pointed at whichever day was asked for last.
+class CheckInsWindow extends WindowManager.View<String> {
+    private final Function<LocalDate, List<CheckInStore.CheckIn>> checkIns;
+    private final TextArea checkInsArea = new TextArea();
+    private volatile LocalDate date;
+
+    CheckInsWindow(WindowManager manager, Function<LocalDate, List<CheckInStore.CheckIn>> checkIns) {
+        super(manager, "Check-ins", 300, 300);
+        this.checkIns = checkIns;
+    }
+
+    void showDay(LocalDate date) {
+        this.date = date;
+        setTitle("Check-ins for " + date);
+        invalidate();
+        show();
+    }
+
+    @Override
+    Parent build() {
+        checkInsArea.setEditable(false);
+        return checkInsArea;
+    }
+
+    @Override
+    String compute(Map<LocalDate, EntryData> entries) {
+        List<CheckInStore.CheckIn> day = checkIns.apply(date);
+        if (day.isEmpty()) {
+            return "No check-ins recorded for this day.";
+        }
+        StringBuilder text = new StringBuilder();
+        for (CheckInStore.CheckIn checkIn : day) {
+            text.append(String.format("%s  %s (%d/10)%n", checkIn.time(), checkIn.moodType(), checkIn.moodRating()));
+        }
+        return text.toString();
+    }
+
+    @Override
+    void render(String text) {
+        checkInsArea.setText(text);
+    }
+}
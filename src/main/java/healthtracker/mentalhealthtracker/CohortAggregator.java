@@ -0,0 +1,159 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+// Aggregates every <user>_entries.txt in a data directory, with each day's mood taken from the user's
+// check-in rollups where the day has them, as the tracker shows it. Files are scanned in parallel and
+// each user's partial result is cached until the size or modification time of either file changes.
+class CohortAggregator {
+    private final Path dataDirectory;
+    private final ForkJoinPool pool;
+    private final Map<Path, CachedPartial> cache = new ConcurrentHashMap<>();
+
+    CohortAggregator(Path dataDirectory) {
+        this(dataDirectory, ForkJoinPool.commonPool());
+    }
+
+    CohortAggregator(Path dataDirectory, ForkJoinPool pool) {
+        this.dataDirectory = dataDirectory;
+        this.pool = pool;
+    }
+
+    CohortStats aggregate() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dataDirectory)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().endsWith(EntryStore.ENTRIES_SUFFIX))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        }
+        cache.keySet().retainAll(files);
+        CohortStats total = new CohortStats();
+        if (!files.isEmpty()) {
+            total.merge(pool.invoke(new ScanTask(this, files, 0, files.size())));
+        }
+        return total;
+    }
+
+    private CohortStats scanCached(Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            long size = attributes.size();
+            long modified = attributes.lastModifiedTime().toMillis();
+            Path rollupsFile = rollupsFile(file);
+            long rollupsSize = -1;
+            long rollupsModified = -1;
+            if (Files.exists(rollupsFile)) {
+                BasicFileAttributes rollupsAttributes = Files.readAttributes(rollupsFile, BasicFileAttributes.class);
+                rollupsSize = rollupsAttributes.size();
+                rollupsModified = rollupsAttributes.lastModifiedTime().toMillis();
+            }
+            CachedPartial cached = cache.get(file);
+            if (cached != null && cached.size == size && cached.modified == modified
+                    && cached.rollupsSize == rollupsSize && cached.rollupsModified == rollupsModified) {
+                return cached.stats;
+            }
+            CohortStats stats = scan(file, rollupsSize < 0 ? null : rollupsFile);
+            cache.put(file, new CachedPartial(size, modified, rollupsSize, rollupsModified, stats));
+            return stats;
+        } catch (IOException e) {
+            // The user's file may have been removed while scanning; it simply drops out of the cohort
+            cache.remove(file);
+            return new CohortStats();
+        }
+    }
+
+    private static Path rollupsFile(Path entriesFile) {
+        String name = entriesFile.getFileName().toString();
+        return entriesFile.resolveSibling(name.substring(0, name.length() - EntryStore.ENTRIES_SUFFIX.length())
+                + CheckInStore.ROLLUPS_SUFFIX);
+    }
+
+    // Later lines for the same date overwrite earlier ones, so only the numeric fields of the
+    // latest line per date are kept; journal text is never materialised. Days with check-ins then take
+    // their mood type and rating from the rollup, the same overlay UserJournal applies when loading.
+    private static CohortStats scan(Path file, Path rollupsFile) throws IOException {
+        Map<LocalDate, DayMetrics> latest = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",", 6);
+                if (parts.length < 6) {
+                    continue;
+                }
+                try {
+                    latest.put(LocalDate.parse(parts[0]), new DayMetrics(parts[1],
+                            Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), Integer.parseInt(parts[4])));
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    // Skip malformed lines rather than failing the whole cohort
+                }
+            }
+        }
+        if (rollupsFile != null) {
+            Map<LocalDate, CheckInStore.Rollup> rollups = new HashMap<>();
+            CheckInStore.readRollups(rollupsFile, rollups);
+            rollups.forEach((date, rollup) -> latest.computeIfPresent(date, (key, day) ->
+                    new DayMetrics(rollup.moodType(), rollup.moodRating(), day.screenTime, day.sleepTime)));
+        }
+        CohortStats stats = new CohortStats();
+        stats.addUser();
+        latest.forEach((date, day) ->
+                stats.add(date, day.moodType, day.moodRating, day.screenTime, day.sleepTime));
+        return stats;
+    }
+
+    private record DayMetrics(String moodType, int moodRating, int screenTime, int sleepTime) {
+    }
+
+    // A user without check-ins has no rollups file, recorded as size and time -1
+    private record CachedPartial(long size, long modified, long rollupsSize, long rollupsModified,
+                                 CohortStats stats) {
+    }
+
+    // Tasks only ever run in the pool, so the aggregator and file list are never serialized
+    private static class ScanTask extends RecursiveTask<CohortStats> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final transient CohortAggregator aggregator;
+        private final transient List<Path> files;
+        private final int from;
+        private final int to;
+
+        ScanTask(CohortAggregator aggregator, List<Path> files, int from, int to) {
+            this.aggregator = aggregator;
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CohortStats compute() {
+            if (to - from == 1) {
+                return aggregator.scanCached(files.get(from));
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(aggregator, files, from, middle);
+            left.fork();
+            CohortStats right = new ScanTask(aggregator, files, middle, to).compute();
+            CohortStats result = new CohortStats();
+            result.merge(left.join());
+            result.merge(right);
+            return result;
+        }
+    }
+}
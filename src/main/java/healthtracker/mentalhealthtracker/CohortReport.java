@@ -0,0 +1,14 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+// Prints the cohort statistics of every user in a data directory (default: the working directory).
+// Ships in the application jar: java -cp <jar> healthtracker.mentalhealthtracker.CohortReport <dir>
+class CohortReport {
+
+    public static void main(String[] args) throws IOException {
+        CohortAggregator aggregator = new CohortAggregator(Paths.get(args.length > 0 ? args[0] : "."));
+        System.out.print(aggregator.aggregate().describe());
+    }
+}
@@ -0,0 +1,113 @@
+package healthtracker.mentalhealthtracker;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.Map;
+import java.util.TreeMap;
+
+class CohortStats {
+    private final MetricSketch moodRating = new MetricSketch(0, 10, 1);
+    private final MetricSketch screenTime = new MetricSketch(0, 24, 1);
+    private final MetricSketch sleepTime = new MetricSketch(0, 24, 1);
+    private final MetricSketch mentalHealthIndex = new MetricSketch(0, 10, 0.1);
+    private final Map<String, MetricSketch> weeklyMentalHealthIndex = new TreeMap<>();
+    private final Map<String, Long> moodTypeCounts = new TreeMap<>();
+    private int userCount;
+
+    static String isoWeek(LocalDate date) {
+        return date.get(IsoFields.WEEK_BASED_YEAR) + "-W" + String.format("%02d",
+                date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    void addUser() {
+        userCount++;
+    }
+
+    void add(LocalDate date, String moodType, int moodRating, int screenTime, int sleepTime) {
+        double index = EntryData.calculateMentalHealthIndex(moodType, moodRating, screenTime, sleepTime);
+        this.moodRating.add(moodRating);
+        this.screenTime.add(screenTime);
+        this.sleepTime.add(sleepTime);
+        this.mentalHealthIndex.add(index);
+        weeklyMentalHealthIndex.computeIfAbsent(isoWeek(date), week -> new MetricSketch(0, 10, 0.1)).add(index);
+        moodTypeCounts.merge(moodType, 1L, Long::sum);
+    }
+
+    // Cached per-file partials are shared, so merging always copies into this instance.
+    void merge(CohortStats other) {
+        userCount += other.userCount;
+        moodRating.merge(other.moodRating);
+        screenTime.merge(other.screenTime);
+        sleepTime.merge(other.sleepTime);
+        mentalHealthIndex.merge(other.mentalHealthIndex);
+        other.weeklyMentalHealthIndex.forEach((week, sketch) -> {
+            MetricSketch existing = weeklyMentalHealthIndex.get(week);
+            if (existing == null) {
+                weeklyMentalHealthIndex.put(week, sketch.copy());
+            } else {
+                existing.merge(sketch);
+            }
+        });
+        other.moodTypeCounts.forEach((moodType, count) -> moodTypeCounts.merge(moodType, count, Long::sum));
+    }
+
+    int getUserCount() {
+        return userCount;
+    }
+
+    MetricSketch getMoodRating() {
+        return moodRating;
+    }
+
+    MetricSketch getScreenTime() {
+        return screenTime;
+    }
+
+    MetricSketch getSleepTime() {
+        return sleepTime;
+    }
+
+    MetricSketch getMentalHealthIndex() {
+        return mentalHealthIndex;
+    }
+
+    Map<String, MetricSketch> getWeeklyMentalHealthIndex() {
+        return weeklyMentalHealthIndex;
+    }
+
+    Map<String, Long> getMoodTypeCounts() {
+        return moodTypeCounts;
+    }
+
+    String describe() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("""
+                        Cohort Statistics:
+                        Users: %d
+                        Entries: %d
+                        """, userCount, mentalHealthIndex.getCount()));
+        appendMetric(report, "Mental Health Index", mentalHealthIndex);
+        appendMetric(report, "Mood Rating", moodRating);
+        appendMetric(report, "Screen Time", screenTime);
+        appendMetric(report, "Sleep Time", sleepTime);
+        report.append("\nSleep Time Distribution:\n");
+        long[] histogram = sleepTime.histogram();
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] > 0) {
+                report.append(String.format("%2.0f hours: %d%n", sleepTime.binValue(i), histogram[i]));
+            }
+        }
+        report.append("\nMood Types:\n");
+        moodTypeCounts.forEach((moodType, count) -> report.append(String.format("%s: %d%n", moodType, count)));
+        report.append("\nAverage Mental Health Index by Week:\n");
+        weeklyMentalHealthIndex.forEach((week, sketch) -> report.append(String.format(
+                "%s: %.2f (%d entries)%n", week, sketch.getAverage(), sketch.getCount())));
+        return report.toString();
+    }
+
+    private static void appendMetric(StringBuilder report, String name, MetricSketch sketch) {
+        report.append(String.format("%s: avg %.2f, min %.2f, p50 %.1f, p90 %.1f, max %.2f%n",
+                name, sketch.getAverage(), sketch.getMin(), sketch.quantile(0.5), sketch.quantile(0.9),
+                sketch.getMax()));
+    }
+}
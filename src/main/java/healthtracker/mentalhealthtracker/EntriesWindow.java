@@ -0,0 +1,125 @@
+package healthtracker.mentalhealthtracker;
+
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+// Every entry, or every entry as it stood at the end of a chosen day. Journal text is decoded while the
+// model is computed, off the FX thread, and the list only creates cells for the entries on screen.
+// Rows for entries that have not changed since the last model are reused rather than decoded again.
+class EntriesWindow extends WindowManager.View<List<EntriesWindow.Row>> {
+    private final BiFunction<Long, Map<LocalDate, EntryData>, Map<LocalDate, EntryData>> asOfView;
+    private final Consumer<LocalDate> showHistory;
+    private final Consumer<LocalDate> showCheckIns;
+    private final ListView<Row> entriesList = new ListView<>();
+    private volatile LocalDate asOf;
+    // Only used by compute, which always runs on the view-models thread
+    private Map<LocalDate, Row> previousRows = Map.of();
+
+    EntriesWindow(WindowManager manager,
+                  BiFunction<Long, Map<LocalDate, EntryData>, Map<LocalDate, EntryData>> asOfView,
+                  Consumer<LocalDate> showHistory, Consumer<LocalDate> showCheckIns) {
+        super(manager, "Previous Entries", 400, 600);
+        this.asOfView = asOfView;
+        this.showHistory = showHistory;
+        this.showCheckIns = showCheckIns;
+    }
+
+    // current is false for past revisions, which have no history or check-ins of their own to show
+    record Row(LocalDate date, EntryData data, String text, boolean current) {
+    }
+
+    static String entryText(LocalDate date, EntryData data) {
+        return String.format(
+                "Date: %s\nMood: %s (%d/10)\nMental Health Index: %.1f/10\nScreen Time: %d hours\nSleep Time: %d hours\nJournal Entry: %s",
+                date, data.moodType, data.moodRating, data.mentalHealthIndex, data.screenTime,
+                data.sleepTime, data.entry());
+    }
+
+    @Override
+    Parent build() {
+        DatePicker asOfPicker = new DatePicker();
+        asOfPicker.setPromptText("Show entries as of...");
+        asOfPicker.valueProperty().addListener((obs, oldDate, date) -> {
+            asOf = date;
+            invalidate();
+        });
+        entriesList.setCellFactory(list -> new EntryCell());
+        VBox layout = new VBox(10, asOfPicker, entriesList);
+        VBox.setVgrow(entriesList, Priority.ALWAYS);
+        return layout;
+    }
+
+    @Override
+    List<Row> compute(Map<LocalDate, EntryData> entries) {
+        LocalDate date = asOf;
+        Map<LocalDate, EntryData> shown = entries;
+        if (date != null) {
+            long endOfDay = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() - 1;
+            shown = asOfView.apply(endOfDay, entries);
+        }
+        List<Row> rows = new ArrayList<>(shown.size());
+        Map<LocalDate, Row> rowsByDate = new HashMap<>();
+        for (Map.Entry<LocalDate, EntryData> entry : shown.entrySet()) {
+            Row row = previousRows.get(entry.getKey());
+            if (row == null || row.data() != entry.getValue() || row.current() != (date == null)) {
+                row = new Row(entry.getKey(), entry.getValue(), entryText(entry.getKey(), entry.getValue()),
+                        date == null);
+            }
+            rows.add(row);
+            rowsByDate.put(entry.getKey(), row);
+        }
+        previousRows = rowsByDate;
+        return rows;
+    }
+
+    @Override
+    void render(List<Row> rows) {
+        entriesList.getItems().setAll(rows);
+    }
+
+    private class EntryCell extends ListCell<Row> {
+        private final TextArea entryArea = new TextArea();
+        private final HBox buttons;
+        private final VBox content;
+
+        EntryCell() {
+            entryArea.setEditable(false);
+            entryArea.setWrapText(true);
+            Button historyButton = new Button("Show History");
+            historyButton.setOnAction(e -> showHistory.accept(getItem().date()));
+            Button checkInsButton = new Button("Show Check-ins");
+            checkInsButton.setOnAction(e -> showCheckIns.accept(getItem().date()));
+            buttons = new HBox(10, historyButton, checkInsButton);
+            content = new VBox(10, entryArea, buttons);
+        }
+
+        @Override
+        protected void updateItem(Row row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null) {
+                setGraphic(null);
+                return;
+            }
+            entryArea.setText(row.text());
+            buttons.setVisible(row.current());
+            buttons.setManaged(row.current());
+            setGraphic(content);
+        }
+    }
+}
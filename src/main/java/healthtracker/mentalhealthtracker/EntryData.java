@@ -0,0 +1,82 @@
+package healthtracker.mentalhealthtracker;
+
+import java.util.function.UnaryOperator;
+
+class EntryData {
+    final String moodType;
+    final int moodRating;
+    final int screenTime;
+    final int sleepTime;
+    final double mentalHealthIndex;
+    final String storedEntry;
+    private final UnaryOperator<String> entryDecoder;
+    private final EntryData entered;
+    private String entry;
+
+    EntryData(String moodType, int moodRating, int screenTime, int sleepTime, String storedEntry,
+              UnaryOperator<String> entryDecoder) {
+        this(moodType, moodRating, screenTime, sleepTime, storedEntry, entryDecoder, null);
+    }
+
+    private EntryData(String moodType, int moodRating, int screenTime, int sleepTime, String storedEntry,
+                      UnaryOperator<String> entryDecoder, EntryData entered) {
+        this.entered = entered;
+        this.moodType = moodType;
+        this.moodRating = moodRating;
+        this.screenTime = screenTime;
+        this.sleepTime = sleepTime;
+        this.storedEntry = storedEntry;
+        this.entryDecoder = entryDecoder;
+        this.mentalHealthIndex = calculateMentalHealthIndex(moodType, moodRating, screenTime, sleepTime);
+    }
+
+    // The same day with its mood taken from the rollup of its check-ins; the rest stays as entered
+    EntryData withMood(String moodType, int moodRating) {
+        EntryData entered = entered();
+        return new EntryData(moodType, moodRating, entered.screenTime, entered.sleepTime, entered.storedEntry,
+                entered.entryDecoder, entered);
+    }
+
+    // The revision as the user saved it, which is what the entries file and its history hold
+    EntryData entered() {
+        return entered != null ? entered : this;
+    }
+
+    // Journal text is only decoded when it is actually shown, so loading and charting never decrypt it
+    String entry() {
+        if (entered != null) {
+            return entered.entry();
+        }
+        if (entry == null) {
+            entry = entryDecoder.apply(storedEntry);
+        }
+        return entry;
+    }
+
+    static double calculateMentalHealthIndex(String moodType, int moodRating, int screenTime, int sleepTime) {
+        double moodScore = moodRating / 10.0;
+        double sleepScore;
+        if (sleepTime >= 7 && sleepTime <= 9) {
+            sleepScore = 1.0;
+        } else if (sleepTime < 7) {
+            sleepScore = sleepTime / 7.0;
+        } else {
+            sleepScore = 1.0 - ((sleepTime - 9) / 15.0);
+        }
+        double finalIndex = getFinalIndex(moodType, screenTime, moodScore, sleepScore);
+        return finalIndex * 10;
+    }
+
+    private static double getFinalIndex(String moodType, int screenTime, double moodScore, double sleepScore) {
+        double screenTimeScore = screenTime <= 4 ? 1.0 : Math.max(0, 1.0 - ((screenTime - 4) / 20.0));
+        double moodTypeImpact = switch (moodType) {
+            case "Happy", "Calm" -> 0.2;
+            case "Energetic" -> 0.1;
+            case "Sad", "Anxious" -> -0.1;
+            case "Angry" -> -0.2;
+            default -> 0.0;
+        };
+        double baseIndex = (moodScore * 0.4) + (sleepScore * 0.3) + (screenTimeScore * 0.3);
+        return Math.max(0, Math.min(1, baseIndex + moodTypeImpact));
+    }
+}
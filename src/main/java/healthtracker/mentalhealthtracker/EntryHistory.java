@@ -0,0 +1,182 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+// Revision log kept next to the entries file in <user>_history.txt. The entries file only ever needs
+// the latest revision of each day; every save also appends an event here:
+//   "date,savedAt,new" when a day is first written, or
+//   "date,savedAt,edit,moodType,moodRating,screenTime,sleepTime,prefix,suffix,middle"
+// where the edit fields describe the revision that was replaced, relative to the one that replaced it.
+// Unchanged fields are left empty, and the old text is the new text's first `prefix` and last `suffix`
+// characters around `middle`. This file is only read when history or an "as of" view is requested.
+// Saves append on the FX thread while "as of" views read on the view-models thread, so reads and
+// appends hold this object's lock and a reader never sees half a line.
+class EntryHistory {
+    static final long UNKNOWN_TIME = 0;
+    private static final String UNRECOVERABLE_TEXT = "[This revision's text could not be reconstructed]";
+    private final Path historyFile;
+    private final EntryStore store;
+
+    EntryHistory(Path historyFile, EntryStore store) {
+        this.historyFile = historyFile;
+        this.store = store;
+    }
+
+    record Revision(long savedAt, EntryData data) {
+    }
+
+    boolean exists() {
+        return Files.exists(historyFile);
+    }
+
+    void recordCreated(LocalDate date, long savedAt) throws IOException {
+        write(List.of(date + "," + savedAt + ",new"));
+    }
+
+    void recordEdit(LocalDate date, long savedAt, EntryData previous, EntryData current) throws IOException {
+        write(List.of(editLine(date, savedAt, previous, current)));
+    }
+
+    // Edits made before history was kept survive only as superseded lines in the entries file; they
+    // are recorded once, without a time, so they are not lost when that file is compacted.
+    void recordUntimedEdits(Map<LocalDate, List<EntryData>> revisionsByDate) throws IOException {
+        List<String> lines = new ArrayList<>();
+        revisionsByDate.forEach((date, revisions) -> {
+            for (int i = 1; i < revisions.size(); i++) {
+                lines.add(editLine(date, UNKNOWN_TIME, revisions.get(i - 1), revisions.get(i)));
+            }
+        });
+        write(lines);
+    }
+
+    // Newest first, starting with the current revision
+    List<Revision> revisions(LocalDate date, EntryData current) {
+        List<String[]> events = readEvents(date.toString()).getOrDefault(date, List.of());
+        List<Revision> revisions = new ArrayList<>();
+        EntryData revision = current;
+        for (int i = events.size() - 1; i >= 0 && revision != null; i--) {
+            String[] event = events.get(i);
+            revisions.add(new Revision(Long.parseLong(event[1]), revision));
+            revision = previousRevision(date, event, revision);
+        }
+        if (revision != null) {
+            revisions.add(new Revision(UNKNOWN_TIME, revision));
+        }
+        return revisions;
+    }
+
+    Map<LocalDate, EntryData> asOf(long timestamp, Map<LocalDate, EntryData> current) {
+        Map<LocalDate, List<String[]>> eventsByDate = readEvents(null);
+        Map<LocalDate, EntryData> snapshot = new TreeMap<>();
+        current.forEach((date, data) -> {
+            List<String[]> events = eventsByDate.getOrDefault(date, List.of());
+            EntryData revision = data.entered();
+            for (int i = events.size() - 1; i >= 0 && revision != null; i--) {
+                if (Long.parseLong(events.get(i)[1]) <= timestamp) {
+                    break;
+                }
+                revision = previousRevision(date, events.get(i), revision);
+            }
+            if (revision != null) {
+                snapshot.put(date, revision);
+            }
+        });
+        return snapshot;
+    }
+
+    // The numeric fields never depend on the text, so when the newer text or the stored middle cannot be
+    // decoded (or does not fit the splice) the older revision keeps its numbers with placeholder text, and
+    // so does every revision before it.
+    private EntryData previousRevision(LocalDate date, String[] event, EntryData newer) {
+        if (event[2].equals("new")) {
+            return null;
+        }
+        String newerText = newer.entry();
+        int prefix = Integer.parseInt(event[7]);
+        int suffix = Integer.parseInt(event[8]);
+        String olderText = UNRECOVERABLE_TEXT;
+        if (!newerText.equals(UNRECOVERABLE_TEXT) && !EntryStore.isUnreadable(newerText)
+                && prefix + suffix <= newerText.length()) {
+            String middle = store.decodeText(date + "@" + event[1], event[9]);
+            if (!EntryStore.isUnreadable(middle)) {
+                olderText = newerText.substring(0, prefix) + middle
+                        + newerText.substring(newerText.length() - suffix);
+            }
+        }
+        return new EntryData(
+                event[3].isEmpty() ? newer.moodType : event[3],
+                event[4].isEmpty() ? newer.moodRating : Integer.parseInt(event[4]),
+                event[5].isEmpty() ? newer.screenTime : Integer.parseInt(event[5]),
+                event[6].isEmpty() ? newer.sleepTime : Integer.parseInt(event[6]),
+                olderText, UnaryOperator.identity());
+    }
+
+    private String editLine(LocalDate date, long savedAt, EntryData previous, EntryData current) {
+        String oldText = previous.entry();
+        String newText = current.entry();
+        int limit = Math.min(oldText.length(), newText.length());
+        int prefix = 0;
+        while (prefix < limit && oldText.charAt(prefix) == newText.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < limit - prefix
+                && oldText.charAt(oldText.length() - 1 - suffix) == newText.charAt(newText.length() - 1 - suffix)) {
+            suffix++;
+        }
+        String middle = oldText.substring(prefix, oldText.length() - suffix);
+        return String.join(",", date.toString(), String.valueOf(savedAt), "edit",
+                previous.moodType.equals(current.moodType) ? "" : previous.moodType,
+                changed(previous.moodRating, current.moodRating),
+                changed(previous.screenTime, current.screenTime),
+                changed(previous.sleepTime, current.sleepTime),
+                String.valueOf(prefix), String.valueOf(suffix),
+                store.encodeText(date + "@" + savedAt, middle));
+    }
+
+    private static String changed(int previous, int current) {
+        return previous == current ? "" : String.valueOf(previous);
+    }
+
+    private synchronized Map<LocalDate, List<String[]>> readEvents(String onlyDate) {
+        Map<LocalDate, List<String[]>> events = new HashMap<>();
+        if (!Files.exists(historyFile)) {
+            return events;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(historyFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (onlyDate != null && !line.startsWith(onlyDate)) {
+                    continue;
+                }
+                String[] event = line.split(",", 10);
+                events.computeIfAbsent(LocalDate.parse(event[0]), date -> new ArrayList<>()).add(event);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return events;
+    }
+
+    private synchronized void write(List<String> lines) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(historyFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package healthtracker.mentalhealthtracker;
+
+import java.time.LocalDate;
+import java.time.temporal.WeekFields;
+import java.util.DoubleSummaryStatistics;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+// The numbers behind the statistics windows, kept free of JavaFX so they can also be computed headlessly
+class EntryStatistics {
+
+    // Keyed by "year-Wnn" so the weeks sort chronologically
+    static Map<String, Double> weeklyAverages(Map<LocalDate, EntryData> entries,
+                                              ToIntFunction<EntryData> valueExtractor) {
+        return entries.entrySet().stream()
+                .collect(Collectors.groupingBy(
+                        entry -> {
+                            LocalDate date = entry.getKey();
+                            return date.getYear() + "-W" + String.format("%02d",
+                                    date.get(WeekFields.ISO.weekOfWeekBasedYear()));
+                        },
+                        TreeMap::new,
+                        Collectors.averagingDouble(entry -> valueExtractor.applyAsInt(entry.getValue()))));
+    }
+
+    static DoubleSummaryStatistics summary(Map<LocalDate, EntryData> entries,
+                                           ToIntFunction<EntryData> valueExtractor) {
+        return entries.values().stream()
+                .mapToDouble(valueExtractor::applyAsInt)
+                .summaryStatistics();
+    }
+}
@@ -0,0 +1,307 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+
+// Reads and appends a user's <user>_entries.txt. Each line is
+// "date,moodType,moodRating,screenTime,sleepTime,entry,mentalHealthIndex"; the numeric fields stay
+// in plain text so loading and statistics never touch the encrypted journal field.
+// New entries are appended encrypted but uncompressed. Once TAIL_LIMIT of them can be sealed, the next
+// load rewrites them as individually compressed entries. The first dictionary is trained then; later
+// ones only after RETRAIN_ENTRIES entries use the current one, and only if they compress clearly better.
+// Edits append a new line for the day and record the old revision in EntryHistory; once
+// STALE_LIMIT superseded lines build up, the file is compacted back to one line per day.
+class EntryStore {
+    static final String ENTRIES_SUFFIX = "_entries.txt";
+    private static final String UNREADABLE_ENTRY = "[This entry could not be decrypted]";
+    private static final int TAIL_LIMIT = 32;
+    private static final int STALE_LIMIT = 32;
+    private static final int TRAINING_ENTRIES = 256;
+    private static final int RETRAIN_ENTRIES = 365;
+    private static final double RETRAIN_GAIN = 0.9;
+    private final Path entriesFile;
+    private final JournalCipher cipher;
+    private final JournalCompressor compressor;
+    private final EntryHistory history;
+    private long decodedEntries;
+    private long decodeNanos;
+
+    EntryStore(Path entriesFile, JournalCipher cipher) {
+        this.entriesFile = entriesFile;
+        this.cipher = cipher;
+        this.compressor = new JournalCompressor(siblingFile("_journal.dict"), cipher);
+        this.history = new EntryHistory(siblingFile("_history.txt"), this);
+    }
+
+    static EntryStore forUser(String username, JournalCipher cipher) {
+        return new EntryStore(Paths.get(username + ENTRIES_SUFFIX), cipher);
+    }
+
+    private Path siblingFile(String suffix) {
+        return entriesFile.resolveSibling(entriesFile.getFileName().toString()
+                .replace(ENTRIES_SUFFIX, suffix));
+    }
+
+    Map<LocalDate, EntryData> load() {
+        Scan scan = read();
+        // A rewrite that changes the file is read back once; whatever could not be sealed stays as it was
+        if (cipher != null && (scan.hasPlainText || scan.tail >= TAIL_LIMIT || scan.stale >= STALE_LIMIT)
+                && rewrite(scan)) {
+            scan = read();
+        }
+        return scan.entries;
+    }
+
+    private record Scan(TreeMap<LocalDate, EntryData> entries, boolean hasPlainText, int tail, int stale,
+                        int underCurrentDictionary) {
+    }
+
+    private Scan read() {
+        TreeMap<LocalDate, EntryData> entries = new TreeMap<>();
+        boolean hasPlainText = false;
+        int tail = 0;
+        int lines = 0;
+        int underCurrentDictionary = 0;
+        if (!Files.exists(entriesFile)) {
+            return new Scan(entries, false, 0, 0, 0);
+        }
+        String currentDictionary = "z" + compressor.currentDictionaryId() + ":";
+        try (BufferedReader reader = Files.newBufferedReader(entriesFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",", 6);
+                LocalDate date = LocalDate.parse(parts[0]);
+                EntryData data = parse(date, parts);
+                if (!JournalCompressor.isCompressed(data.storedEntry)) {
+                    tail++;
+                    hasPlainText |= !JournalCipher.isEncrypted(data.storedEntry);
+                } else if (data.storedEntry.startsWith(currentDictionary)) {
+                    underCurrentDictionary++;
+                }
+                entries.put(date, data);
+                lines++;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return new Scan(entries, hasPlainText, tail, lines - entries.size(), underCurrentDictionary);
+    }
+
+    private EntryData parse(LocalDate date, String[] parts) {
+        return new EntryData(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                Integer.parseInt(parts[4]), storedEntry(parts[5]), stored -> decodeEntry(date, stored));
+    }
+
+    EntryData create(LocalDate date, String moodType, int moodRating, int screenTime, int sleepTime, String entry) {
+        return new EntryData(moodType, moodRating, screenTime, sleepTime, encodeEntry(date, entry),
+                stored -> decodeEntry(date, stored));
+    }
+
+    // previous is the revision being replaced, or null when the day has no entry yet. Only what the user
+    // entered is written; a check-in rollup on either side is not part of the entry's history.
+    void append(LocalDate date, EntryData data, EntryData previous) throws IOException {
+        EntryData entered = data.entered();
+        try (BufferedWriter writer = Files.newBufferedWriter(entriesFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(formatLine(date, entered.moodType, entered.moodRating, entered.screenTime,
+                    entered.sleepTime, entered.storedEntry, entered.mentalHealthIndex));
+            writer.newLine();
+        }
+        long savedAt = System.currentTimeMillis();
+        if (previous == null) {
+            history.recordCreated(date, savedAt);
+        } else {
+            history.recordEdit(date, savedAt, previous.entered(), entered);
+        }
+    }
+
+    List<EntryHistory.Revision> revisions(LocalDate date, EntryData current) {
+        return history.revisions(date, current.entered());
+    }
+
+    Map<LocalDate, EntryData> asOf(long timestamp, Map<LocalDate, EntryData> current) {
+        return history.asOf(timestamp, current);
+    }
+
+    private static String formatLine(LocalDate date, String moodType, int moodRating, int screenTime,
+                                     int sleepTime, String storedEntry, double mentalHealthIndex) {
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%s,%.2f",
+                date, moodType, moodRating, screenTime, sleepTime, storedEntry, mentalHealthIndex);
+    }
+
+    // Older lines may hold unescaped commas inside the entry, so the index is taken from the last comma
+    private static String storedEntry(String entryAndIndex) {
+        int lastComma = entryAndIndex.lastIndexOf(',');
+        return lastComma < 0 ? entryAndIndex : entryAndIndex.substring(0, lastComma);
+    }
+
+    String encodeEntry(LocalDate date, String entry) {
+        return encodeText(date.toString(), entry);
+    }
+
+    String decodeEntry(LocalDate date, String stored) {
+        return decodeText(date.toString(), stored);
+    }
+
+    // The associated data names the record the text belongs to: the entry date, or a history event
+    String encodeText(String associatedData, String text) {
+        if (cipher == null) {
+            return text.replace("\n", "\\n");
+        }
+        return cipher.encrypt(text.getBytes(StandardCharsets.UTF_8), associatedData);
+    }
+
+    String decodeText(String associatedData, String stored) {
+        long start = System.nanoTime();
+        try {
+            return decode(associatedData, stored);
+        } catch (GeneralSecurityException | DataFormatException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return UNREADABLE_ENTRY;
+        } finally {
+            recordDecode(System.nanoTime() - start);
+        }
+    }
+
+    private synchronized void recordDecode(long nanos) {
+        decodedEntries++;
+        decodeNanos += nanos;
+    }
+
+    static boolean isUnreadable(String text) {
+        return UNREADABLE_ENTRY.equals(text);
+    }
+
+    private String decode(String associatedData, String stored) throws GeneralSecurityException, DataFormatException {
+        if (JournalCompressor.isCompressed(stored)) {
+            return compressor.decompress(stored, associatedData);
+        }
+        if (!JournalCipher.isEncrypted(stored)) {
+            return stored.replace("\\n", "\n");
+        }
+        if (cipher == null) {
+            throw new GeneralSecurityException("Journal key is not available");
+        }
+        return new String(cipher.decrypt(stored, associatedData), StandardCharsets.UTF_8);
+    }
+
+    synchronized double averageDecodeMicros() {
+        return decodedEntries == 0 ? 0 : decodeNanos / 1000.0 / decodedEntries;
+    }
+
+    // Rewrites the file with only the latest revision of each day and every uncompressed entry (plain
+    // text from before encryption, or the encrypted tail) in its sealed form. Entries that fail to decode
+    // are left exactly as stored and do not count towards the tail, so they never force a rewrite.
+    private boolean rewrite(Scan scan) {
+        Map<LocalDate, String> sealable = new TreeMap<>();
+        for (Map.Entry<LocalDate, EntryData> entry : scan.entries.entrySet()) {
+            String storedEntry = entry.getValue().storedEntry;
+            if (!JournalCompressor.isCompressed(storedEntry)) {
+                try {
+                    sealable.put(entry.getKey(), decode(entry.getKey().toString(), storedEntry));
+                } catch (GeneralSecurityException | DataFormatException | IllegalArgumentException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        boolean seal = scan.hasPlainText || sealable.size() >= TAIL_LIMIT;
+        if (!seal && scan.stale < STALE_LIMIT) {
+            return false;
+        }
+        try {
+            if (scan.stale > 0 && !history.exists()) {
+                history.recordUntimedEdits(supersededRevisions());
+            }
+            if (sealable.size() >= TAIL_LIMIT) {
+                updateDictionary(scan, sealable);
+            }
+            List<String> lines = new ArrayList<>(scan.entries.size());
+            for (Map.Entry<LocalDate, EntryData> entry : scan.entries.entrySet()) {
+                LocalDate date = entry.getKey();
+                EntryData data = entry.getValue();
+                String text = seal ? sealable.get(date) : null;
+                String storedEntry = text == null ? data.storedEntry : compressor.hasDictionary()
+                        ? compressor.compress(text, date.toString()) : encodeEntry(date, text);
+                lines.add(formatLine(date, data.moodType, data.moodRating, data.screenTime, data.sleepTime,
+                        storedEntry, data.mentalHealthIndex));
+            }
+            Path temp = Files.createTempFile(entriesFile.toAbsolutePath().getParent(), "entries", ".tmp");
+            Files.write(temp, lines);
+            Files.move(temp, entriesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Each dictionary generation is stored for good, so the tail normally reuses the current one. The first
+    // is trained from the tail itself; a replacement is only tried once the current one has sealed
+    // RETRAIN_ENTRIES entries, is trained on those, and is kept only if it compresses the new tail by at
+    // least a tenth more.
+    private void updateDictionary(Scan scan, Map<LocalDate, String> tail)
+            throws IOException, GeneralSecurityException {
+        if (!compressor.hasDictionary()) {
+            List<String> newest = new ArrayList<>(tail.values());
+            compressor.addDictionary(JournalCompressor.buildDictionary(
+                    newest.subList(Math.max(0, newest.size() - TRAINING_ENTRIES), newest.size())));
+            return;
+        }
+        if (scan.underCurrentDictionary < RETRAIN_ENTRIES) {
+            return;
+        }
+        byte[] candidate = JournalCompressor.buildDictionary(recentTexts(scan.entries, tail));
+        long current = 0;
+        long retrained = 0;
+        for (String text : tail.values()) {
+            current += compressor.compressedSize(text, null);
+            retrained += compressor.compressedSize(text, candidate);
+        }
+        if (retrained <= current * RETRAIN_GAIN) {
+            compressor.addDictionary(candidate);
+        }
+    }
+
+    // The newest already compressed entries that still decode
+    private static List<String> recentTexts(TreeMap<LocalDate, EntryData> entries, Map<LocalDate, String> tail) {
+        List<String> recent = new ArrayList<>();
+        for (Map.Entry<LocalDate, EntryData> entry : entries.descendingMap().entrySet()) {
+            if (recent.size() == TRAINING_ENTRIES) {
+                break;
+            }
+            String text = tail.containsKey(entry.getKey()) ? null : entry.getValue().entry();
+            if (text != null && !text.equals(UNREADABLE_ENTRY)) {
+                recent.add(text);
+            }
+        }
+        return recent;
+    }
+
+    // Every line of each day that was written more than once, oldest first
+    private Map<LocalDate, List<EntryData>> supersededRevisions() throws IOException {
+        Map<LocalDate, List<EntryData>> revisions = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(entriesFile)) {
+            String[] parts = line.split(",", 6);
+            LocalDate date = LocalDate.parse(parts[0]);
+            revisions.computeIfAbsent(date, key -> new ArrayList<>()).add(parse(date, parts));
+        }
+        revisions.values().removeIf(lines -> lines.size() < 2);
+        return revisions;
+    }
+}
@@ -0,0 +1,62 @@
+package healthtracker.mentalhealthtracker;
+
+import javafx.collections.FXCollections;
+import javafx.scene.Parent;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Calendar heatmap of one metric at a time. The per-day values are prepared off the FX thread and the
+// canvas is redrawn in one pass when they arrive.
+class HeatmapWindow extends WindowManager.View<CalendarHeatmap.Values> {
+    private final CalendarHeatmap heatmap = new CalendarHeatmap();
+    private volatile CalendarHeatmap.Metric metric = CalendarHeatmap.Metric.MENTAL_HEALTH_INDEX;
+
+    HeatmapWindow(WindowManager manager) {
+        super(manager, "Calendar Heatmap", 740, 600);
+    }
+
+    @Override
+    Parent build() {
+        ComboBox<CalendarHeatmap.Metric> metricBox =
+                new ComboBox<>(FXCollections.observableArrayList(CalendarHeatmap.Metric.values()));
+        metricBox.setValue(metric);
+        metricBox.valueProperty().addListener((obs, oldMetric, selected) -> {
+            metric = selected;
+            invalidate();
+        });
+        Tooltip tooltip = new Tooltip();
+        heatmap.setOnMouseMoved(e -> {
+            LocalDate date = heatmap.dateAt(e.getX(), e.getY());
+            if (date == null) {
+                tooltip.hide();
+                return;
+            }
+            double value = heatmap.valueAt(date);
+            tooltip.setText(Double.isNaN(value)
+                    ? date + "\nNo entry"
+                    : String.format("%s\n%s: %.1f", date, heatmap.getMetric(), value));
+            tooltip.show(heatmap, e.getScreenX() + 12, e.getScreenY() + 12);
+        });
+        heatmap.setOnMouseExited(e -> tooltip.hide());
+        ScrollPane scrollPane = new ScrollPane(heatmap);
+        VBox layout = new VBox(10, metricBox, scrollPane);
+        VBox.setVgrow(scrollPane, Priority.ALWAYS);
+        return layout;
+    }
+
+    @Override
+    CalendarHeatmap.Values compute(Map<LocalDate, EntryData> entries) {
+        return CalendarHeatmap.prepare(entries, metric);
+    }
+
+    @Override
+    void render(CalendarHeatmap.Values values) {
+        heatmap.setData(values);
+    }
+}
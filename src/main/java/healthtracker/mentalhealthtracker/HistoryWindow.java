@@ -0,0 +1,75 @@
+package healthtracker.mentalhealthtracker;
+
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.VBox;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+// Every saved revision of one day, newest first. A single window is reused and pointed at whichever day
+// was asked for last; revisions are reconstructed and decoded off the FX thread.
+class HistoryWindow extends WindowManager.View<List<HistoryWindow.Row>> {
+    private static final DateTimeFormatter SAVED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private final BiFunction<LocalDate, EntryData, List<EntryHistory.Revision>> revisions;
+    private final VBox revisionsBox = new VBox(10);
+    private volatile LocalDate date;
+
+    HistoryWindow(WindowManager manager, BiFunction<LocalDate, EntryData, List<EntryHistory.Revision>> revisions) {
+        super(manager, "History", 400, 600);
+        this.revisions = revisions;
+    }
+
+    record Row(String savedAt, String text) {
+    }
+
+    void showDay(LocalDate date) {
+        this.date = date;
+        setTitle("History for " + date);
+        invalidate();
+        show();
+    }
+
+    @Override
+    Parent build() {
+        ScrollPane scrollPane = new ScrollPane(revisionsBox);
+        scrollPane.setFitToWidth(true);
+        return scrollPane;
+    }
+
+    @Override
+    List<Row> compute(Map<LocalDate, EntryData> entries) {
+        LocalDate day = date;
+        EntryData current = entries.get(day);
+        if (current == null) {
+            return List.of();
+        }
+        List<Row> rows = new ArrayList<>();
+        for (EntryHistory.Revision revision : revisions.apply(day, current)) {
+            String savedAt = revision.savedAt() == EntryHistory.UNKNOWN_TIME
+                    ? "Saved before history was kept"
+                    : "Saved " + SAVED_AT.format(Instant.ofEpochMilli(revision.savedAt()).atZone(ZoneId.systemDefault()));
+            rows.add(new Row(savedAt, EntriesWindow.entryText(day, revision.data())));
+        }
+        return rows;
+    }
+
+    @Override
+    void render(List<Row> rows) {
+        revisionsBox.getChildren().clear();
+        for (Row row : rows) {
+            TextArea entryArea = new TextArea(row.text());
+            entryArea.setEditable(false);
+            entryArea.setWrapText(true);
+            revisionsBox.getChildren().addAll(new Label(row.savedAt()), entryArea);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package healthtracker.mentalhealthtracker;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+// AES-GCM encryption of individual journal fields, keyed from the user's password with PBKDF2.
+// Each field carries its own nonce so any single record can be decrypted on its own.
+class JournalCipher {
+    static final String ENCRYPTED_PREFIX = "enc:";
+    private static final String KDF_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int KDF_ITERATIONS = 210_000;
+    private static final int KEY_BITS = 256;
+    private static final int NONCE_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // Cipher lookup costs more than sealing a short journal entry, so instances are reused per thread
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM is unavailable", e);
+        }
+    });
+    private final SecretKeySpec key;
+
+    private JournalCipher(byte[] keyBytes) {
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    static JournalCipher derive(String password, byte[] salt) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, KDF_ITERATIONS, KEY_BITS);
+        try {
+            return new JournalCipher(SecretKeyFactory.getInstance(KDF_ALGORITHM).generateSecret(spec).getEncoded());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Key derivation is unavailable", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    static byte[] newSalt() {
+        byte[] salt = new byte[16];
+        RANDOM.nextBytes(salt);
+        return salt;
+    }
+
+    // Entries from before encryption were stored as typed, so text that merely starts with "enc:" must stay
+    // plain text to be migrated. Only the prefix followed by padded base64 long enough to hold a nonce and
+    // tag counts as sealed.
+    static boolean isEncrypted(String field) {
+        return field.startsWith(ENCRYPTED_PREFIX)
+                && isBase64(field, ENCRYPTED_PREFIX.length(), NONCE_BYTES + TAG_BITS / 8);
+    }
+
+    // Standard padded base64 from `from` to the end of the field, decoding to at least minBytes bytes
+    static boolean isBase64(String field, int from, int minBytes) {
+        int length = field.length() - from;
+        if (length <= 0 || length % 4 != 0) {
+            return false;
+        }
+        int padding = field.endsWith("==") ? 2 : field.endsWith("=") ? 1 : 0;
+        for (int i = from; i < field.length() - padding; i++) {
+            char c = field.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '+' || c == '/')) {
+                return false;
+            }
+        }
+        return length / 4 * 3 - padding >= minBytes;
+    }
+
+    // Stored in users.txt in place of the password; a hash of the key does not reveal the key itself.
+    byte[] verifier() {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is unavailable", e);
+        }
+    }
+
+    boolean matches(byte[] storedVerifier) {
+        return MessageDigest.isEqual(verifier(), storedVerifier);
+    }
+
+    // The associated data binds a ciphertext to its record (e.g. the entry date) so it cannot be
+    // copied onto another day without failing authentication.
+    String encrypt(byte[] plain, String associatedData) {
+        byte[] nonce = new byte[NONCE_BYTES];
+        RANDOM.nextBytes(nonce);
+        try {
+            Cipher cipher = CIPHERS.get();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, nonce));
+            cipher.updateAAD(associatedData.getBytes(StandardCharsets.UTF_8));
+            byte[] sealed = cipher.doFinal(plain);
+            byte[] payload = Arrays.copyOf(nonce, NONCE_BYTES + sealed.length);
+            System.arraycopy(sealed, 0, payload, NONCE_BYTES, sealed.length);
+            return ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to encrypt journal data", e);
+        }
+    }
+
+    byte[] decrypt(String field, String associatedData) throws GeneralSecurityException {
+        byte[] payload = Base64.getDecoder().decode(field.substring(ENCRYPTED_PREFIX.length()));
+        Cipher cipher = CIPHERS.get();
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, payload, 0, NONCE_BYTES));
+        cipher.updateAAD(associatedData.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(payload, NONCE_BYTES, payload.length - NONCE_BYTES);
+    }
+}
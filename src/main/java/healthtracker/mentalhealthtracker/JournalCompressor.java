@@ -0,0 +1,193 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Deflates journal entries one at a time against a preset dictionary trained on the user's own
+// writing, so each day still decompresses on its own. Fields look like "z<dictionaryId>:<payload>".
+// Dictionaries are kept in <user>_journal.dict, one "id,payload" line per generation. Entries may be
+// decoded off the FX thread, so the dictionary cache is guarded by this object's lock.
+class JournalCompressor {
+    private static final int MAX_DICTIONARY_BYTES = 16 * 1024;
+    private static final ThreadLocal<Deflater> DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(() -> new Inflater(true));
+    private final Path dictionaryFile;
+    private final JournalCipher cipher;
+    private final Map<Integer, byte[]> dictionaries = new HashMap<>();
+    private TreeMap<Integer, String> storedDictionaries;
+
+    JournalCompressor(Path dictionaryFile, JournalCipher cipher) {
+        this.dictionaryFile = dictionaryFile;
+        this.cipher = cipher;
+    }
+
+    // Legacy plain text may start with something like "z1:", so the payload has to be a sealed field or,
+    // without a key, padded base64
+    static boolean isCompressed(String field) {
+        int separator = field.indexOf(':');
+        if (separator < 2 || field.charAt(0) != 'z') {
+            return false;
+        }
+        for (int i = 1; i < separator; i++) {
+            if (field.charAt(i) < '0' || field.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return JournalCipher.isEncrypted(field.substring(separator + 1))
+                || JournalCipher.isBase64(field, separator + 1, 1);
+    }
+
+    boolean hasDictionary() {
+        return !storedDictionaries().isEmpty();
+    }
+
+    int currentDictionaryId() {
+        return hasDictionary() ? storedDictionaries().lastKey() : 0;
+    }
+
+    String compress(String text, String associatedData) throws GeneralSecurityException {
+        int dictionaryId = currentDictionaryId();
+        return "z" + dictionaryId + ":" + seal(deflate(text, dictionary(dictionaryId)), associatedData);
+    }
+
+    // Deflated size of the text against the current dictionary, or against a candidate that has not been kept
+    int compressedSize(String text, byte[] dictionary) throws GeneralSecurityException {
+        return deflate(text, dictionary != null ? dictionary : dictionary(currentDictionaryId())).length;
+    }
+
+    private static byte[] deflate(String text, byte[] dictionary) {
+        Deflater deflater = DEFLATERS.get();
+        deflater.reset();
+        deflater.setDictionary(dictionary);
+        deflater.setInput(text.getBytes(StandardCharsets.UTF_8));
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(text.length());
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return compressed.toByteArray();
+    }
+
+    String decompress(String field, String associatedData) throws GeneralSecurityException, DataFormatException {
+        int separator = field.indexOf(':');
+        int dictionaryId = Integer.parseInt(field.substring(1, separator));
+        byte[] compressed = unseal(field.substring(separator + 1), associatedData);
+        Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setDictionary(dictionary(dictionaryId));
+        inflater.setInput(compressed);
+        ByteArrayOutputStream text = new ByteArrayOutputStream(compressed.length * 4);
+        byte[] buffer = new byte[1024];
+        while (!inflater.finished()) {
+            int length = inflater.inflate(buffer);
+            if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                throw new DataFormatException("Truncated journal entry");
+            }
+            text.write(buffer, 0, length);
+        }
+        return text.toString(StandardCharsets.UTF_8);
+    }
+
+    // Sentences the user repeats most often go last, where back-references are shortest.
+    static byte[] buildDictionary(List<String> texts) {
+        Map<String, Integer> sentenceCounts = new LinkedHashMap<>();
+        for (String text : texts) {
+            for (String sentence : text.split("(?<=[.!?\\n])\\s*")) {
+                if (!sentence.isBlank()) {
+                    sentenceCounts.merge(sentence, 1, Integer::sum);
+                }
+            }
+        }
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<>(sentenceCounts.entrySet());
+        ranked.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        List<byte[]> selected = new ArrayList<>();
+        int size = 0;
+        for (Map.Entry<String, Integer> sentence : ranked) {
+            byte[] bytes = (sentence.getKey() + " ").getBytes(StandardCharsets.UTF_8);
+            if (size + bytes.length <= MAX_DICTIONARY_BYTES) {
+                selected.add(bytes);
+                size += bytes.length;
+            }
+        }
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream(size);
+        for (int i = selected.size() - 1; i >= 0; i--) {
+            dictionary.write(selected.get(i), 0, selected.get(i).length);
+        }
+        return dictionary.toByteArray();
+    }
+
+    // Appends a new dictionary generation, which compresses everything sealed from now on
+    synchronized void addDictionary(byte[] dictionary) throws IOException {
+        int dictionaryId = currentDictionaryId() + 1;
+        String stored = seal(dictionary, "dictionary-" + dictionaryId);
+        try (BufferedWriter writer = Files.newBufferedWriter(dictionaryFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(dictionaryId + "," + stored);
+            writer.newLine();
+        }
+        storedDictionaries.put(dictionaryId, stored);
+        dictionaries.put(dictionaryId, dictionary);
+    }
+
+    private synchronized byte[] dictionary(int dictionaryId) throws GeneralSecurityException {
+        byte[] dictionary = dictionaries.get(dictionaryId);
+        if (dictionary == null) {
+            String stored = storedDictionaries().get(dictionaryId);
+            if (stored == null) {
+                throw new GeneralSecurityException("Missing journal dictionary " + dictionaryId);
+            }
+            dictionary = unseal(stored, "dictionary-" + dictionaryId);
+            dictionaries.put(dictionaryId, dictionary);
+        }
+        return dictionary;
+    }
+
+    private synchronized TreeMap<Integer, String> storedDictionaries() {
+        if (storedDictionaries == null) {
+            storedDictionaries = new TreeMap<>();
+            if (Files.exists(dictionaryFile)) {
+                try {
+                    for (String line : Files.readAllLines(dictionaryFile)) {
+                        String[] parts = line.split(",", 2);
+                        storedDictionaries.put(Integer.parseInt(parts[0]), parts[1]);
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return storedDictionaries;
+    }
+
+    private String seal(byte[] bytes, String associatedData) {
+        return cipher != null ? cipher.encrypt(bytes, associatedData) : Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private byte[] unseal(String payload, String associatedData) throws GeneralSecurityException {
+        if (JournalCipher.isEncrypted(payload)) {
+            if (cipher == null) {
+                throw new GeneralSecurityException("Journal key is not available");
+            }
+            return cipher.decrypt(payload, associatedData);
+        }
+        return Base64.getDecoder().decode(payload);
+    }
+}
@@ -9,7 +9,8 @@ import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 
-import java.io.*;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 public class LoginController {
     @FXML
@@ -17,6 +18,7 @@ public class LoginController {
     @FXML
     private PasswordField passwordField;
     private Stage primaryStage;
+    private final UserAccounts userAccounts = new UserAccounts(Paths.get("users.txt"));
 
     public void setPrimaryStage(@SuppressWarnings("exports") Stage stage) {
         this.primaryStage = stage;
@@ -24,8 +26,9 @@ public class LoginController {
 
     @FXML
     private void handleLogin() {
-        if (validateLogin(usernameField.getText(), passwordField.getText())) {
-            loadTrackerScene();
+        JournalCipher journalCipher = userAccounts.login(usernameField.getText(), passwordField.getText());
+        if (journalCipher != null) {
+            loadTrackerScene(journalCipher);
         } else {
             showAlert("Login failed. Please check your credentials.");
         }
@@ -33,57 +36,13 @@ public class LoginController {
 
     @FXML
     private void handleSignUp() {
-        if (createUser(usernameField.getText(), passwordField.getText())) {
+        if (userAccounts.createUser(usernameField.getText(), passwordField.getText())) {
             showAlert("User created successfully. Please log in.");
         } else {
             showAlert("Username already exists. Please choose a different one.");
         }
     }
 
-    private boolean validateLogin(String username, String password) {
-        try (BufferedReader reader = new BufferedReader(new FileReader("users.txt"))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts[0].equals(username) && parts[1].equals(password)) {
-                    return true;
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
-
-    private boolean createUser(String username, String password) {
-        if (userExists(username)) {
-            return false;
-        }
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter("users.txt", true))) {
-            writer.write(username + "," + password);
-            writer.newLine();
-        } catch (IOException e) {
-            e.printStackTrace();
-            return false;
-        }
-        return true;
-    }
-
-    private boolean userExists(String username) {
-        try (BufferedReader reader = new BufferedReader(new FileReader("users.txt"))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts[0].equals(username)) {
-                    return true;
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return false;
-    }
-
     private void showAlert(String message) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Information");
@@ -92,12 +51,13 @@ public class LoginController {
         alert.showAndWait();
     }
 
-    private void loadTrackerScene() {
+    private void loadTrackerScene(JournalCipher journalCipher) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("tracker.fxml"));
             Parent root = loader.load();
             TrackerController trackerController = loader.getController();
             trackerController.setCurrentUser(usernameField.getText());
+            trackerController.setJournalCipher(journalCipher);
             trackerController.loadUserData();
             Scene trackerScene = new Scene(root, 1000, 800);
             primaryStage.setScene(trackerScene);
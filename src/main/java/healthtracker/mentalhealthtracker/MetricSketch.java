@@ -0,0 +1,89 @@
+package healthtracker.mentalhealthtracker;
+
+import java.util.Arrays;
+
+// Fixed-resolution histogram plus count/sum/min/max. Two sketches with the same bounds
+// merge by adding their bins, so partial results from separate files can be combined.
+class MetricSketch {
+    private final double low;
+    private final double resolution;
+    private final long[] bins;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    MetricSketch(double low, double high, double resolution) {
+        this.low = low;
+        this.resolution = resolution;
+        this.bins = new long[(int) Math.round((high - low) / resolution) + 1];
+    }
+
+    void add(double value) {
+        int bin = (int) Math.round((value - low) / resolution);
+        bins[Math.max(0, Math.min(bins.length - 1, bin))]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    void merge(MetricSketch other) {
+        if (other.bins.length != bins.length || other.low != low || other.resolution != resolution) {
+            throw new IllegalArgumentException("Cannot merge sketches with different bounds");
+        }
+        for (int i = 0; i < bins.length; i++) {
+            bins[i] += other.bins[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    MetricSketch copy() {
+        MetricSketch copy = new MetricSketch(low, low + (bins.length - 1) * resolution, resolution);
+        copy.merge(this);
+        return copy;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getAverage() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    double getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    double getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    // Accurate to half the resolution; exact for integer metrics sketched at resolution 1.
+    double quantile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(q * count);
+        long seen = 0;
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (seen >= Math.max(1, rank)) {
+                return binValue(i);
+            }
+        }
+        return binValue(bins.length - 1);
+    }
+
+    double binValue(int bin) {
+        return low + bin * resolution;
+    }
+
+    long[] histogram() {
+        return Arrays.copyOf(bins, bins.length);
+    }
+}
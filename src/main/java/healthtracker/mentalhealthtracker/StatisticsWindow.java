@@ -0,0 +1,80 @@
+package healthtracker.mentalhealthtracker;
+
+import javafx.scene.Parent;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.VBox;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+// Weekly averages and overall statistics of one metric, in hours
+class StatisticsWindow extends WindowManager.View<StatisticsWindow.Model> {
+    private final String metricName;
+    private final ToIntFunction<EntryData> valueExtractor;
+    private final XYChart.Series<String, Number> series = new XYChart.Series<>();
+    private final TextArea statsText = new TextArea();
+
+    StatisticsWindow(WindowManager manager, String metricName, ToIntFunction<EntryData> valueExtractor) {
+        super(manager, metricName + " Statistics", 600, 500);
+        this.metricName = metricName;
+        this.valueExtractor = valueExtractor;
+    }
+
+    record Model(Map<String, Double> weeklyAverages, DoubleSummaryStatistics stats) {
+    }
+
+    @Override
+    Parent build() {
+        CategoryAxis xAxis = new CategoryAxis();
+        NumberAxis yAxis = new NumberAxis();
+        LineChart<String, Number> chart = new LineChart<>(xAxis, yAxis);
+        chart.setTitle("Average " + metricName + " by Week");
+        xAxis.setLabel("Week");
+        yAxis.setLabel("Hours");
+        series.setName("Average " + metricName);
+        chart.getData().add(series);
+        chart.setAnimated(false);
+        statsText.setEditable(false);
+        statsText.setPrefRowCount(3);
+        statsText.setWrapText(true);
+        VBox layout = new VBox(10);
+        layout.getChildren().addAll(chart, statsText);
+        return layout;
+    }
+
+    @Override
+    Model compute(Map<LocalDate, EntryData> entries) {
+        return new Model(EntryStatistics.weeklyAverages(entries, valueExtractor),
+                EntryStatistics.summary(entries, valueExtractor));
+    }
+
+    @Override
+    void render(Model model) {
+        List<XYChart.Data<String, Number>> points = new ArrayList<>(model.weeklyAverages().size());
+        model.weeklyAverages().forEach((week, avg) -> points.add(new XYChart.Data<>(formatWeekLabel(week), avg)));
+        series.getData().setAll(points);
+        DoubleSummaryStatistics stats = model.stats();
+        statsText.setText(String.format("""
+                        Overall %s Statistics:
+                        Average: %.2f hours
+                        Minimum: %.2f hours
+                        Maximum: %.2f hours
+                        Number of entries: %d
+                        Number of weeks: %d""",
+                metricName, stats.getAverage(), stats.getMin(), stats.getMax(),
+                stats.getCount(), model.weeklyAverages().size()));
+    }
+
+    private static String formatWeekLabel(String weekYear) {
+        String[] parts = weekYear.split("-W");
+        return String.format("Week %s\n%s", parts[1], parts[0]);
+    }
+}
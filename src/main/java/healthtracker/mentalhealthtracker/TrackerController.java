@@ -4,21 +4,19 @@ import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
-import javafx.scene.Scene;
 import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
-import javafx.scene.layout.VBox;
-import javafx.stage.Stage;
 
-import java.io.*;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class TrackerController {
     private final Map<LocalDate, EntryData> userData = new TreeMap<>();
@@ -52,34 +50,17 @@ public class TrackerController {
     @FXML
     private Button showSleepTimeStatsButton;
     private String currentUser;
+    private JournalCipher journalCipher;
+    private UserJournal journal;
+    private final WindowManager windows = new WindowManager();
+    private StatisticsWindow screenTimeWindow;
+    private StatisticsWindow sleepTimeWindow;
+    private EntriesWindow entriesWindow;
+    private HeatmapWindow heatmapWindow;
+    private CheckInsWindow checkInsWindow;
+    private HistoryWindow historyWindow;
     private ToggleGroup moodToggleGroup;
 
-    private static TextArea getTextArea(Map.Entry<LocalDate, EntryData> entry) {
-        TextArea entryArea = new TextArea();
-        entryArea.setEditable(false);
-        entryArea.setWrapText(true);
-        EntryData data = entry.getValue();
-        String entryText = String.format(
-                "Date: %s\nMood: %s (%d/10)\nMental Health Index: %.1f/10\nScreen Time: %d hours\nSleep Time: %d hours\nJournal Entry: %s",
-                entry.getKey(), data.moodType, data.moodRating, data.mentalHealthIndex, data.screenTime,
-                data.sleepTime, data.entry);
-        entryArea.setText(entryText);
-        return entryArea;
-    }
-
-    private Map<String, Double> calculateWeeklyAverages(
-            java.util.function.Function<EntryData, Integer> valueExtractor) {
-        return userData.entrySet().stream()
-                .collect(Collectors.groupingBy(
-                        entry -> {
-                            LocalDate date = entry.getKey();
-                            return date.getYear() + "-W" + String.format("%02d",
-                                    date.get(java.time.temporal.WeekFields.ISO.weekOfWeekBasedYear()));
-                        },
-                        TreeMap::new,
-                        Collectors.averagingDouble(entry -> valueExtractor.apply(entry.getValue()))));
-    }
-
     @FXML
     private void initialize() {
         datePicker.setValue(LocalDate.now());
@@ -236,12 +217,15 @@ public class TrackerController {
         this.currentUser = username;
     }
 
+    void setJournalCipher(JournalCipher journalCipher) {
+        this.journalCipher = journalCipher;
+    }
+
     @SuppressWarnings("CallToPrintStackTrace")
     @FXML
     private void saveEntry() {
         LocalDate date = datePicker.getValue();
-        ToggleButton selectedMoodButton = (ToggleButton) moodToggleGroup.getSelectedToggle();
-        String moodType = selectedMoodButton != null ? selectedMoodButton.getText() : "Not specified";
+        String moodType = selectedMoodType();
         int moodRating = (int) moodSlider.getValue();
         int screenTime = screenTimeSpinner.getValue();
         int sleepTime = sleepTimeSpinner.getValue();
@@ -250,41 +234,70 @@ public class TrackerController {
             showAlert("Please enter valid input");
             return;
         }
-        EntryData entryData = new EntryData(moodType, moodRating, screenTime, sleepTime, entry);
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(currentUser + "_entries.txt", true))) {
-            writer.write(String.format("%s,%s,%d,%d,%d,%s,%.2f",
-                    date, moodType, moodRating, screenTime, sleepTime,
-                    entry.replace("\n", "\\n"), entryData.mentalHealthIndex));
-            writer.newLine();
+        EntryData entryData;
+        try {
+            entryData = journal.save(date, userData.get(date), moodType, moodRating, screenTime, sleepTime, entry);
         } catch (IOException e) {
             e.printStackTrace();
+            showAlert("Unable to save entry.");
+            return;
         }
-        userData.put(date, entryData);
+        storeEntry(date, entryData);
         showAlert("Entry saved successfully!");
+        showSuggestions(entryData);
+        updateMoodChart();
+    }
+
+    // A check-in records the current mood at the time of day it was made. The rollup of the day's check-ins
+    // replaces the mood shown for the day's entry, if it has one; the entry itself is left as entered.
+    @SuppressWarnings("CallToPrintStackTrace")
+    @FXML
+    private void saveCheckIn() {
+        LocalDate date = datePicker.getValue();
+        CheckInStore.CheckIn checkIn = new CheckInStore.CheckIn(LocalTime.now().truncatedTo(ChronoUnit.MINUTES),
+                selectedMoodType(), (int) moodSlider.getValue());
+        EntryData entryData;
+        try {
+            entryData = journal.checkIn(date, checkIn, userData.get(date));
+        } catch (IOException e) {
+            e.printStackTrace();
+            showAlert("Unable to save check-in.");
+            return;
+        }
+        int checkIns = journal.checkIns(date).size();
+        if (entryData == null) {
+            showAlert(String.format("Check-in saved! %s has %d check-in(s); save an entry for the day to see "
+                    + "them in your charts.", date, checkIns));
+            return;
+        }
+        storeEntry(date, entryData);
+        showAlert(String.format("Check-in saved! The mood for %s is now based on %d check-in(s).",
+                date, checkIns));
+        showSuggestions(entryData);
+        updateMoodChart();
+    }
+
+    private String selectedMoodType() {
+        ToggleButton selectedMoodButton = (ToggleButton) moodToggleGroup.getSelectedToggle();
+        return selectedMoodButton != null ? selectedMoodButton.getText() : "Not specified";
+    }
+
+    private void storeEntry(LocalDate date, EntryData entryData) {
+        userData.put(date, entryData);
+        windows.entriesChanged(userData);
+    }
+
+    private void showSuggestions(EntryData entryData) {
         finalVerdict.setText(giveFinalVerdict(entryData));
         nutritionSuggestion.setText(suggestNutrition(entryData));
         workoutSuggestion.setText(suggestWorkout(entryData));
-        updateMoodChart();
     }
 
     public void loadUserData() {
+        journal = UserJournal.forUser(currentUser, journalCipher);
         userData.clear();
-        try (BufferedReader reader = new BufferedReader(new FileReader(currentUser + "_entries.txt"))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",", 7);
-                LocalDate date = LocalDate.parse(parts[0]);
-                String moodType = parts[1];
-                int moodRating = Integer.parseInt(parts[2]);
-                int screenTime = Integer.parseInt(parts[3]);
-                int sleepTime = Integer.parseInt(parts[4]);
-                String entry = parts[5].replace("\\n", "\n");
-                EntryData entryData = new EntryData(moodType, moodRating, screenTime, sleepTime, entry);
-                userData.put(date, entryData);
-            }
-        } catch (IOException e) {
-            // File might not exist yet, which is fine for new users
-        }
+        userData.putAll(journal.load());
+        windows.entriesChanged(userData);
         updateMoodChart();
     }
 
@@ -348,88 +361,27 @@ public class TrackerController {
     }
 
     @FXML
-    private void showScreenTimeStats() {
-        Stage stage = new Stage();
-        stage.setTitle("Screen Time Statistics");
-        CategoryAxis xAxis = new CategoryAxis();
-        NumberAxis yAxis = new NumberAxis();
-        LineChart<String, Number> chart = new LineChart<>(xAxis, yAxis);
-        chart.setTitle("Average Screen Time by Week");
-        xAxis.setLabel("Week");
-        yAxis.setLabel("Hours");
-        Map<String, Double> weeklyAverages = calculateWeeklyAverages(entry -> entry.screenTime);
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        series.setName("Average Screen Time");
-        TextArea statsText = weekAverage(chart, weeklyAverages, series);
-        DoubleSummaryStatistics stats = userData.values().stream()
-                .mapToDouble(data -> data.screenTime)
-                .summaryStatistics();
-        statsText.setText(String.format("""
-                        Overall Screen Time Statistics:
-                        Average: %.2f hours
-                        Minimum: %.2f hours
-                        Maximum: %.2f hours
-                        Number of entries: %d
-                        Number of weeks: %d""",
-                stats.getAverage(), stats.getMin(), stats.getMax(),
-                stats.getCount(), weeklyAverages.size()));
-        VBox layout = new VBox(10);
-        layout.getChildren().addAll(chart, statsText);
-        Scene scene = new Scene(layout, 600, 500);
-        stage.setScene(scene);
-        stage.show();
+    private void showHeatmap() {
+        if (heatmapWindow == null) {
+            heatmapWindow = new HeatmapWindow(windows);
+        }
+        heatmapWindow.show();
     }
 
-    private TextArea weekAverage(LineChart<String, Number> chart, Map<String, Double> weeklyAverages, XYChart.Series<String, Number> series) {
-        weeklyAverages.forEach((week, avg) -> {
-            String weekLabel = formatWeekLabel(week);
-            series.getData().add(new XYChart.Data<>(weekLabel, avg));
-        });
-        chart.getData().add(series);
-        chart.setAnimated(false);
-        TextArea statsText = new TextArea();
-        statsText.setEditable(false);
-        statsText.setPrefRowCount(3);
-        statsText.setWrapText(true);
-        return statsText;
+    @FXML
+    private void showScreenTimeStats() {
+        if (screenTimeWindow == null) {
+            screenTimeWindow = new StatisticsWindow(windows, "Screen Time", data -> data.screenTime);
+        }
+        screenTimeWindow.show();
     }
 
     @FXML
     private void showSleepTimeStats() {
-        Stage stage = new Stage();
-        stage.setTitle("Sleep Time Statistics");
-        CategoryAxis xAxis = new CategoryAxis();
-        NumberAxis yAxis = new NumberAxis();
-        LineChart<String, Number> chart = new LineChart<>(xAxis, yAxis);
-        chart.setTitle("Average Sleep Time by Week");
-        xAxis.setLabel("Week");
-        yAxis.setLabel("Hours");
-        Map<String, Double> weeklyAverages = calculateWeeklyAverages(entry -> entry.sleepTime);
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        series.setName("Average Sleep Time");
-        TextArea statsText = weekAverage(chart, weeklyAverages, series);
-        DoubleSummaryStatistics stats = userData.values().stream()
-                .mapToDouble(data -> data.sleepTime)
-                .summaryStatistics();
-        statsText.setText(String.format("""
-                        Overall Sleep Time Statistics:
-                        Average: %.2f hours
-                        Minimum: %.2f hours
-                        Maximum: %.2f hours
-                        Number of entries: %d
-                        Number of weeks: %d""",
-                stats.getAverage(), stats.getMin(), stats.getMax(),
-                stats.getCount(), weeklyAverages.size()));
-        VBox layout = new VBox(10);
-        layout.getChildren().addAll(chart, statsText);
-        Scene scene = new Scene(layout, 600, 500);
-        stage.setScene(scene);
-        stage.show();
-    }
-
-    private String formatWeekLabel(String weekYear) {
-        String[] parts = weekYear.split("-W");
-        return String.format("Week %s\n%s", parts[1], parts[0]);
+        if (sleepTimeWindow == null) {
+            sleepTimeWindow = new StatisticsWindow(windows, "Sleep Time", data -> data.sleepTime);
+        }
+        sleepTimeWindow.show();
     }
 
     private void showAlert(String s) {
@@ -645,61 +597,24 @@ public class TrackerController {
 
     @FXML
     private void showPreviousEntries() {
-        VBox entriesBox = new VBox(10);
-        ScrollPane scrollPane = new ScrollPane(entriesBox);
-        scrollPane.setFitToWidth(true);
-        for (Map.Entry<LocalDate, EntryData> entry : userData.entrySet()) {
-            TextArea entryArea = getTextArea(entry);
-            entriesBox.getChildren().add(entryArea);
+        if (entriesWindow == null) {
+            entriesWindow = new EntriesWindow(windows, (timestamp, entries) -> journal.asOf(timestamp, entries),
+                    this::showEntryHistory, this::showCheckIns);
         }
-        Stage stage = new Stage();
-        stage.setTitle("Previous Entries");
-        stage.setScene(new Scene(scrollPane, 400, 600));
-        stage.show();
+        entriesWindow.show();
     }
 
-    private static class EntryData {
-        final String moodType;
-        final int moodRating;
-        final int screenTime;
-        final int sleepTime;
-        final double mentalHealthIndex;
-        final String entry;
-
-        EntryData(String moodType, int moodRating, int screenTime, int sleepTime, String entry) {
-            this.moodType = moodType;
-            this.moodRating = moodRating;
-            this.screenTime = screenTime;
-            this.sleepTime = sleepTime;
-            this.entry = entry;
-            this.mentalHealthIndex = calculateMentalHealthIndex();
-        }
-
-        private double calculateMentalHealthIndex() {
-            double moodScore = moodRating / 10.0;
-            double sleepScore;
-            if (sleepTime >= 7 && sleepTime <= 9) {
-                sleepScore = 1.0;
-            } else if (sleepTime < 7) {
-                sleepScore = sleepTime / 7.0;
-            } else {
-                sleepScore = 1.0 - ((sleepTime - 9) / 15.0);
-            }
-            double finalIndex = getFinalIndex(moodScore, sleepScore);
-            return finalIndex * 10;
+    private void showCheckIns(LocalDate date) {
+        if (checkInsWindow == null) {
+            checkInsWindow = new CheckInsWindow(windows, day -> journal.checkIns(day));
         }
+        checkInsWindow.showDay(date);
+    }
 
-        private double getFinalIndex(double moodScore, double sleepScore) {
-            double screenTimeScore = screenTime <= 4 ? 1.0 : Math.max(0, 1.0 - ((screenTime - 4) / 20.0));
-            double moodTypeImpact = switch (moodType) {
-                case "Happy", "Calm" -> 0.2;
-                case "Energetic" -> 0.1;
-                case "Sad", "Anxious" -> -0.1;
-                case "Angry" -> -0.2;
-                default -> 0.0;
-            };
-            double baseIndex = (moodScore * 0.4) + (sleepScore * 0.3) + (screenTimeScore * 0.3);
-            return Math.max(0, Math.min(1, baseIndex + moodTypeImpact));
+    private void showEntryHistory(LocalDate date) {
+        if (historyWindow == null) {
+            historyWindow = new HistoryWindow(windows, (day, current) -> journal.revisions(day, current));
         }
+        historyWindow.showDay(date);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// Reads and writes users.txt. Accounts are stored as "username,pbkdf2,<salt>,<verifier>";
+// older "username,password" lines are upgraded the first time the user logs in.
+class UserAccounts {
+    private static final String KDF_MARKER = "pbkdf2";
+    private final Path usersFile;
+
+    UserAccounts(Path usersFile) {
+        this.usersFile = usersFile;
+    }
+
+    static String credentialLine(String username, byte[] salt, JournalCipher cipher) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return username + "," + KDF_MARKER + "," + encoder.encodeToString(salt) + ","
+                + encoder.encodeToString(cipher.verifier());
+    }
+
+    // Returns the user's journal key, or null if the credentials do not match.
+    JournalCipher login(String username, String password) {
+        List<String> lines = readLines();
+        for (int i = 0; i < lines.size(); i++) {
+            String[] parts = lines.get(i).split(",");
+            if (!parts[0].equals(username)) {
+                continue;
+            }
+            if (parts.length == 4 && parts[1].equals(KDF_MARKER)) {
+                Base64.Decoder decoder = Base64.getDecoder();
+                JournalCipher cipher = JournalCipher.derive(password, decoder.decode(parts[2]));
+                return cipher.matches(decoder.decode(parts[3])) ? cipher : null;
+            }
+            if (parts.length == 2 && parts[1].equals(password)) {
+                byte[] salt = JournalCipher.newSalt();
+                JournalCipher cipher = JournalCipher.derive(password, salt);
+                lines.set(i, credentialLine(username, salt, cipher));
+                rewrite(lines);
+                return cipher;
+            }
+            return null;
+        }
+        return null;
+    }
+
+    boolean createUser(String username, String password) {
+        if (userExists(username)) {
+            return false;
+        }
+        byte[] salt = JournalCipher.newSalt();
+        String line = credentialLine(username, salt, JournalCipher.derive(password, salt));
+        try (BufferedWriter writer = Files.newBufferedWriter(usersFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line);
+            writer.newLine();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
+    boolean userExists(String username) {
+        for (String line : readLines()) {
+            if (line.split(",")[0].equals(username)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    List<String> usernames() {
+        List<String> usernames = new ArrayList<>();
+        for (String line : readLines()) {
+            usernames.add(line.split(",")[0]);
+        }
+        return usernames;
+    }
+
+    private List<String> readLines() {
+        if (!Files.exists(usersFile)) {
+            return new ArrayList<>();
+        }
+        try {
+            return new ArrayList<>(Files.readAllLines(usersFile));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    private void rewrite(List<String> lines) {
+        try {
+            Path temp = Files.createTempFile(usersFile.toAbsolutePath().getParent(), "users", ".tmp");
+            Files.write(temp, lines);
+            Files.move(temp, usersFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
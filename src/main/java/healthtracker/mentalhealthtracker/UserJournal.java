@@ -0,0 +1,72 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// A user's daily entries as the tracker shows them: each day as entered, with its mood type and rating
+// replaced by the rollup of its check-ins when it has any. Saving writes the entry and its history;
+// a check-in only touches the check-in files and never creates or rewrites a daily entry.
+class UserJournal {
+    private final EntryStore entryStore;
+    private final CheckInStore checkInStore;
+
+    UserJournal(EntryStore entryStore, CheckInStore checkInStore) {
+        this.entryStore = entryStore;
+        this.checkInStore = checkInStore;
+    }
+
+    static UserJournal forUser(String username, JournalCipher cipher) {
+        return inDirectory(Paths.get(""), username, cipher);
+    }
+
+    static UserJournal inDirectory(Path directory, String username, JournalCipher cipher) {
+        return new UserJournal(new EntryStore(directory.resolve(username + EntryStore.ENTRIES_SUFFIX), cipher),
+                new CheckInStore(directory, username));
+    }
+
+    // Days with check-ins but no entry stay out: the daily index also needs the day's screen and sleep time,
+    // which only an entry records, and filling them in would put made-up hours into every chart and average.
+    // Such a day joins the daily data, with its rollup applied, once an entry is saved for it.
+    Map<LocalDate, EntryData> load() {
+        Map<LocalDate, EntryData> entries = new TreeMap<>(entryStore.load());
+        Map<LocalDate, CheckInStore.Rollup> rollups = checkInStore.rollups();
+        entries.replaceAll((date, data) -> withRollup(data, rollups.get(date)));
+        return entries;
+    }
+
+    // previous is the day's entry as currently shown, or null when the day has none yet
+    EntryData save(LocalDate date, EntryData previous, String moodType, int moodRating, int screenTime,
+                   int sleepTime, String entry) throws IOException {
+        EntryData data = entryStore.create(date, moodType, moodRating, screenTime, sleepTime, entry);
+        entryStore.append(date, data, previous);
+        return withRollup(data, checkInStore.rollupFor(date));
+    }
+
+    // Returns the day's entry with the new rollup applied, or null when the day has no entry
+    EntryData checkIn(LocalDate date, CheckInStore.CheckIn checkIn, EntryData current) throws IOException {
+        CheckInStore.Rollup rollup = checkInStore.add(date, checkIn);
+        return withRollup(current, rollup);
+    }
+
+    List<CheckInStore.CheckIn> checkIns(LocalDate date) {
+        return checkInStore.forDay(date);
+    }
+
+    List<EntryHistory.Revision> revisions(LocalDate date, EntryData current) {
+        return entryStore.revisions(date, current);
+    }
+
+    // Entries as they were saved at the time, without check-in rollups
+    Map<LocalDate, EntryData> asOf(long timestamp, Map<LocalDate, EntryData> current) {
+        return entryStore.asOf(timestamp, current);
+    }
+
+    private static EntryData withRollup(EntryData data, CheckInStore.Rollup rollup) {
+        return data == null || rollup == null ? data : data.withMood(rollup.moodType(), rollup.moodRating());
+    }
+}
@@ -0,0 +1,109 @@
+package healthtracker.mentalhealthtracker;
+
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Keeps one window per view for the signed-in user. A view's scene graph is built the first time it is
+// opened and kept afterwards; closing it only hides the stage. View models are computed on a background
+// thread from an immutable snapshot of the entries and are only invalidated when the entries change, at
+// which point views that are showing are recomputed and updated in place. A hidden view falls behind and
+// is recomputed when it is next shown.
+class WindowManager {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "view-models");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<View<?>> views = new ArrayList<>();
+    private Map<LocalDate, EntryData> entries = Map.of();
+    private long version;
+
+    void entriesChanged(Map<LocalDate, EntryData> entries) {
+        this.entries = Collections.unmodifiableMap(new TreeMap<>(entries));
+        version++;
+        for (View<?> view : views) {
+            if (view.stage.isShowing()) {
+                view.refresh();
+            }
+        }
+    }
+
+    abstract static class View<M> {
+        private final WindowManager manager;
+        private String title;
+        private final double width;
+        private final double height;
+        private Stage stage;
+        private long requestedVersion = -1;
+
+        View(WindowManager manager, String title, double width, double height) {
+            this.manager = manager;
+            this.title = title;
+            this.width = width;
+            this.height = height;
+        }
+
+        // Called once, on the FX thread, the first time the view is shown
+        abstract Parent build();
+
+        // Called on the background thread; must not touch the scene graph
+        abstract M compute(Map<LocalDate, EntryData> entries);
+
+        abstract void render(M model);
+
+        void show() {
+            if (stage == null) {
+                stage = new Stage();
+                stage.setTitle(title);
+                stage.setScene(new Scene(build(), width, height));
+                manager.views.add(this);
+            }
+            refresh();
+            stage.show();
+            stage.toFront();
+        }
+
+        // For views that are pointed at something else, such as another day, while they stay open
+        void setTitle(String title) {
+            this.title = title;
+            if (stage != null) {
+                stage.setTitle(title);
+            }
+        }
+
+        // For inputs the view owns itself, such as a date picker, that change its model without an entry change
+        void invalidate() {
+            requestedVersion = -1;
+            refresh();
+        }
+
+        private void refresh() {
+            if (requestedVersion == manager.version) {
+                return;
+            }
+            long version = manager.version;
+            Map<LocalDate, EntryData> entries = manager.entries;
+            requestedVersion = version;
+            CompletableFuture.supplyAsync(() -> compute(entries), manager.executor)
+                    .whenComplete((model, error) -> Platform.runLater(() -> {
+                        if (error != null) {
+                            error.printStackTrace();
+                        } else if (version == manager.version) {
+                            render(model);
+                        }
+                    }));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package healthtracker.mentalhealthtracker;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CalendarHeatmapLayoutTest {
+    private final CalendarHeatmap.Layout layout = new CalendarHeatmap.Layout(2016, 2025);
+
+    @Test
+    void everyCellMapsBackToItsDay() {
+        for (LocalDate date = LocalDate.of(2016, 1, 1); date.getYear() <= 2025; date = date.plusDays(1)) {
+            double x = layout.cellX(date);
+            double y = layout.cellY(date);
+            assertEquals(date, layout.dateAt(x, y));
+            assertEquals(date, layout.dateAt(x + 9.5, y + 11.5));
+        }
+    }
+
+    @Test
+    void weeksStartOnMonday() {
+        // 2024-01-01 was a Monday, so it opens the first column; the Sunday after ends it
+        assertEquals(LocalDate.of(2024, 1, 1), layout.dateAt(45, layout.yearTop(2024) + 19));
+        assertEquals(LocalDate.of(2024, 1, 7), layout.dateAt(45, layout.yearTop(2024) + 18 + 6 * 12 + 1));
+        assertEquals(LocalDate.of(2024, 1, 8), layout.dateAt(45 + 12, layout.yearTop(2024) + 19));
+    }
+
+    @Test
+    void daysOutsideTheYearAreNotOnTheCalendar() {
+        // 2025-01-01 was a Wednesday; the Monday and Tuesday before it belong to 2024's block
+        assertNull(layout.dateAt(45, layout.yearTop(2025) + 19));
+        assertNull(layout.dateAt(45, layout.yearTop(2025) + 18 + 12 + 1));
+        assertEquals(LocalDate.of(2025, 1, 1), layout.dateAt(45, layout.yearTop(2025) + 18 + 2 * 12 + 1));
+    }
+
+    @Test
+    void marginsAndLabelsAreNotCells() {
+        double top = layout.yearTop(2020);
+        assertNull(layout.dateAt(10, top + 30));
+        assertNull(layout.dateAt(60, top + 5));
+        assertNull(layout.dateAt(60, top + 18 + 7 * 12 + 5));
+        assertNull(layout.dateAt(-1, 30));
+        assertNull(layout.dateAt(60, -1));
+        assertNull(layout.dateAt(layout.width() + 1, top + 30));
+        assertNull(layout.dateAt(60, layout.height() + 30));
+    }
+
+    @Test
+    void yearsStackTopToBottom() {
+        assertEquals(0, layout.yearTop(2016));
+        assertEquals(layout.height(), layout.yearTop(2026));
+        // 2017-01-01 was a Sunday, at the bottom of the first column of the second block
+        assertEquals(LocalDate.of(2017, 1, 1), layout.dateAt(45, layout.yearTop(2017) + 18 + 6 * 12 + 1));
+    }
+}
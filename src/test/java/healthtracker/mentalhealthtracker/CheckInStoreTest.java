@@ -0,0 +1,109 @@
+package healthtracker.mentalhealthtracker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CheckInStoreTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+    @TempDir
+    Path directory;
+
+    private static CheckInStore.CheckIn checkIn(String time, String moodType, int moodRating) {
+        return new CheckInStore.CheckIn(LocalTime.parse(time), moodType, moodRating);
+    }
+
+    private Path rollupsFile() {
+        return directory.resolve("alice" + CheckInStore.ROLLUPS_SUFFIX);
+    }
+
+    @Test
+    void mostFrequentMoodWinsAndTheLatestBreaksTies() {
+        assertEquals(new CheckInStore.Rollup("Happy", 4), CheckInStore.rollup(List.of(
+                checkIn("09:00", "Sad", 3), checkIn("12:00", "Happy", 4))));
+        assertEquals(new CheckInStore.Rollup("Sad", 4), CheckInStore.rollup(List.of(
+                checkIn("09:00", "Sad", 3), checkIn("12:00", "Happy", 6), checkIn("18:00", "Sad", 3))));
+        assertEquals(new CheckInStore.Rollup("Calm", 5), CheckInStore.rollup(List.of(
+                checkIn("09:00", "Sad", 2), checkIn("10:00", "Calm", 5), checkIn("11:00", "Sad", 6),
+                checkIn("12:00", "Calm", 7))));
+    }
+
+    @Test
+    void checkInsAreKeptInTimeOrderAcrossInstances() throws IOException {
+        CheckInStore store = new CheckInStore(directory, "alice");
+        store.add(DAY, checkIn("18:00", "Calm", 6));
+        // Added out of order; the 18:00 check-in is still the latest and wins the tie
+        assertEquals(new CheckInStore.Rollup("Calm", 7), store.add(DAY, checkIn("08:30", "Happy", 8)));
+
+        CheckInStore reopened = new CheckInStore(directory, "alice");
+        assertEquals(List.of(checkIn("08:30", "Happy", 8), checkIn("18:00", "Calm", 6)), reopened.forDay(DAY));
+        assertEquals(new CheckInStore.Rollup("Calm", 7), reopened.rollupFor(DAY));
+        assertNull(reopened.rollupFor(DAY.plusDays(1)));
+        assertEquals(List.of(), reopened.forDay(DAY.plusDays(1)));
+    }
+
+    @Test
+    void latestRollupLineWins() throws IOException {
+        Files.write(rollupsFile(), List.of(
+                "2024-03-04,Sad,3",
+                "2024-03-05,Calm,6",
+                "2024-03-04,Happy,8",
+                "2024-03-06,Calm"));
+        Map<LocalDate, CheckInStore.Rollup> rollups = new CheckInStore(directory, "alice").rollups();
+        assertEquals(Map.of(DAY, new CheckInStore.Rollup("Happy", 8),
+                DAY.plusDays(1), new CheckInStore.Rollup("Calm", 6)), rollups);
+    }
+
+    @Test
+    void supersededLinesAreCompactedOnceTheyOutnumberTheDays() throws IOException {
+        CheckInStore store = new CheckInStore(directory, "alice");
+        for (int i = 0; i < 20; i++) {
+            store.add(DAY, checkIn(String.format("%02d:00", i), "Calm", 1 + i % 10));
+        }
+        new CheckInStore(directory, "alice").rollups();
+        assertEquals(20, Files.readAllLines(rollupsFile()).size());
+
+        for (int i = 20; i < 40; i++) {
+            store.add(DAY, checkIn(String.format("%02d:%02d", i / 2, i % 2 * 30 + 15), "Happy", 9));
+        }
+        CheckInStore.Rollup expected = store.rollupFor(DAY);
+        Map<LocalDate, CheckInStore.Rollup> rollups = new CheckInStore(directory, "alice").rollups();
+        assertEquals(List.of("2024-03-04," + expected.moodType() + "," + expected.moodRating()),
+                Files.readAllLines(rollupsFile()));
+        assertEquals(Map.of(DAY, expected), rollups);
+    }
+
+    @Test
+    void missingRollupsAreRebuiltFromTheMonthlyBuckets() throws IOException {
+        Files.write(directory.resolve("alice_checkins_2024-02.txt"), List.of(
+                "2024-02-29,13:00,Calm,6",
+                "2024-02-29,08:00,Sad,2"));
+        Files.write(directory.resolve("alice_checkins_2024-03.txt"), List.of(
+                "2024-03-04,09:00,Happy,9"));
+        // Another user's bucket and a file that only shares the prefix are left alone
+        Files.write(directory.resolve("bob_checkins_2024-03.txt"), List.of("2024-03-05,09:00,Angry,1"));
+        Files.write(directory.resolve("alice_checkins_notes.txt"), List.of("not a bucket"));
+
+        Map<LocalDate, CheckInStore.Rollup> rollups = new CheckInStore(directory, "alice").rollups();
+        assertEquals(Map.of(LocalDate.of(2024, 2, 29), new CheckInStore.Rollup("Calm", 4),
+                DAY, new CheckInStore.Rollup("Happy", 9)), rollups);
+        assertEquals(List.of("2024-02-29,Calm,4", "2024-03-04,Happy,9"), Files.readAllLines(rollupsFile()));
+    }
+
+    @Test
+    void noCheckInsWritesNoRollupsFile() {
+        assertEquals(Map.of(), new CheckInStore(directory, "alice").rollups());
+        assertFalse(Files.exists(rollupsFile()));
+    }
+}
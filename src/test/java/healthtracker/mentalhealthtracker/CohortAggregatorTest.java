@@ -0,0 +1,121 @@
+package healthtracker.mentalhealthtracker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CohortAggregatorTest {
+    private static final FileTime MODIFIED = FileTime.fromMillis(1_700_000_000_000L);
+    @TempDir
+    Path directory;
+
+    private Path write(String username, String... lines) throws IOException {
+        Path file = directory.resolve(username + EntryStore.ENTRIES_SUFFIX);
+        Files.write(file, List.of(lines));
+        Files.setLastModifiedTime(file, MODIFIED);
+        return file;
+    }
+
+    private CohortAggregator aggregator() {
+        return new CohortAggregator(directory, new ForkJoinPool(2));
+    }
+
+    @Test
+    void latestLinePerDateWins() throws IOException {
+        write("alice",
+                "2024-03-04,Sad,3,4,7,First draft,4.00",
+                "2024-03-05,Calm,6,2,8,Other day,8.00",
+                "2024-03-04,Happy,9,4,7,Second draft, with a comma,9.00",
+                "not a date,Calm,6,2,8,Broken,8.00",
+                "2024-03-06,Calm");
+        CohortStats stats = aggregator().aggregate();
+        assertEquals(1, stats.getUserCount());
+        assertEquals(2, stats.getMoodRating().getCount());
+        assertEquals(7.5, stats.getMoodRating().getAverage());
+        assertEquals(Map.of("Calm", 1L, "Happy", 1L), stats.getMoodTypeCounts());
+    }
+
+    @Test
+    void onlyEntriesFilesAreScanned() throws IOException {
+        write("alice", "2024-03-04,Calm,6,2,8,Day,8.00");
+        Files.write(directory.resolve("users.txt"), List.of("alice,salt,verifier"));
+        Files.write(directory.resolve("alice_history.txt"), List.of("2024-03-04,1,new"));
+        assertEquals(1, aggregator().aggregate().getUserCount());
+    }
+
+    @Test
+    void unchangedFilesComeFromTheCache() throws IOException {
+        Path alice = write("alice", "2024-03-04,Calm,3,2,8,Day,8.00");
+        write("bob", "2024-03-04,Calm,5,2,8,Day,8.00");
+        CohortAggregator aggregator = aggregator();
+        assertEquals(4, aggregator.aggregate().getMoodRating().getAverage());
+
+        // Same size and modification time: the cached partial is used and the new rating is not seen
+        write("alice", "2024-03-04,Calm,9,2,8,Day,8.00");
+        assertEquals(4, aggregator.aggregate().getMoodRating().getAverage());
+
+        Files.setLastModifiedTime(alice, FileTime.fromMillis(MODIFIED.toMillis() + 1000));
+        assertEquals(7, aggregator.aggregate().getMoodRating().getAverage());
+    }
+
+    @Test
+    void deletedFilesDropOutOfTheCohortAndTheCache() throws IOException {
+        Path alice = write("alice", "2024-03-04,Calm,3,2,8,Day,8.00");
+        write("bob", "2024-03-04,Calm,5,2,8,Day,8.00");
+        CohortAggregator aggregator = aggregator();
+        assertEquals(2, aggregator.aggregate().getUserCount());
+
+        Files.delete(alice);
+        CohortStats withoutAlice = aggregator.aggregate();
+        assertEquals(1, withoutAlice.getUserCount());
+        assertEquals(5, withoutAlice.getMoodRating().getAverage());
+
+        // Recreated with the old size and time; a stale cache entry would bring back the old rating
+        write("alice", "2024-03-04,Calm,9,2,8,Day,8.00");
+        assertEquals(7, aggregator.aggregate().getMoodRating().getAverage());
+    }
+
+    @Test
+    void checkInRollupsReplaceTheEnteredMood() throws IOException {
+        LocalDate day = LocalDate.of(2024, 3, 4);
+        UserJournal journal = UserJournal.inDirectory(directory, "alice", null);
+        journal.save(day, null, "Happy", 9, 2, 8, "A good day");
+        journal.checkIn(day, new CheckInStore.CheckIn(LocalTime.of(9, 0), "Angry", 1), null);
+        journal.checkIn(day, new CheckInStore.CheckIn(LocalTime.of(13, 0), "Angry", 1), null);
+        // A day with check-ins but no entry has no daily value, for the user or the cohort
+        journal.checkIn(day.plusDays(1), new CheckInStore.CheckIn(LocalTime.of(9, 0), "Calm", 6), null);
+        EntryData shown = journal.load().get(day);
+
+        CohortAggregator aggregator = aggregator();
+        CohortStats stats = aggregator.aggregate();
+        assertEquals(Map.of("Angry", 1L), stats.getMoodTypeCounts());
+        assertEquals(1, stats.getMoodRating().getAverage());
+        assertEquals(shown.mentalHealthIndex, stats.getMentalHealthIndex().getAverage(), 1e-9);
+        assertEquals(1, journal.load().size());
+        assertEquals(1, stats.getMentalHealthIndex().getCount());
+
+        // A new check-in only touches the rollups file, which must invalidate the cached partial
+        journal.checkIn(day, new CheckInStore.CheckIn(LocalTime.of(20, 0), "Happy", 10), null);
+        stats = aggregator.aggregate();
+        assertEquals(Map.of("Angry", 1L), stats.getMoodTypeCounts());
+        assertEquals(4, stats.getMoodRating().getAverage());
+    }
+
+    @Test
+    void emptyDirectoryHasNoUsers() throws IOException {
+        CohortStats stats = aggregator().aggregate();
+        assertEquals(0, stats.getUserCount());
+        assertEquals(0, stats.getMentalHealthIndex().getCount());
+    }
+}
@@ -0,0 +1,149 @@
+package healthtracker.mentalhealthtracker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntryHistoryTest {
+    private static final JournalCipher CIPHER = JournalCipher.derive("correct horse", JournalCipher.newSalt());
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+    private static final LocalDate OTHER_DAY = LocalDate.of(2024, 3, 2);
+    @TempDir
+    Path directory;
+
+    private EntryStore store() {
+        return new EntryStore(directory.resolve("user" + EntryStore.ENTRIES_SUFFIX), CIPHER);
+    }
+
+    // savedAt has millisecond resolution; each save gets a time of its own
+    private static long tick() throws InterruptedException {
+        Thread.sleep(5);
+        long now = System.currentTimeMillis();
+        Thread.sleep(5);
+        return now;
+    }
+
+    @Test
+    void revisionsAndAsOfReconstructEveryEdit() throws IOException, InterruptedException {
+        EntryStore store = store();
+        long beforeCreate = tick();
+        EntryData created = store.create(DAY, "Sad", 3, 6, 5, "Rough morning.\nWork was long.");
+        store.append(DAY, created, null);
+        long afterCreate = tick();
+        EntryData edited = store.create(DAY, "Calm", 5, 6, 5, "Rough morning.\nA walk helped.\nWork was long.");
+        store.append(DAY, edited, created);
+        long afterEdit = tick();
+        EntryData current = store.create(DAY, "Calm", 6, 4, 5, "Better morning.\nA walk helped.");
+        store.append(DAY, current, edited);
+
+        List<EntryHistory.Revision> revisions = store().revisions(DAY, store().load().get(DAY));
+        assertEquals(3, revisions.size());
+        assertRevision(current, revisions.get(0).data());
+        assertRevision(edited, revisions.get(1).data());
+        assertRevision(created, revisions.get(2).data());
+        assertTrue(revisions.get(2).savedAt() > beforeCreate && revisions.get(2).savedAt() < afterCreate);
+        assertTrue(revisions.get(1).savedAt() > afterCreate && revisions.get(1).savedAt() < afterEdit);
+        assertTrue(revisions.get(0).savedAt() > afterEdit);
+
+        Map<LocalDate, EntryData> latest = store().load();
+        assertFalse(store().asOf(beforeCreate, latest).containsKey(DAY));
+        assertRevision(created, store().asOf(afterCreate, latest).get(DAY));
+        assertRevision(edited, store().asOf(afterEdit, latest).get(DAY));
+        assertRevision(current, store().asOf(System.currentTimeMillis(), latest).get(DAY));
+    }
+
+    @Test
+    void legacyEditsAreKeptWithoutATime() throws IOException, InterruptedException {
+        // Written before encryption and history: one line per save, the latest line of a day wins
+        Files.write(directory.resolve("user" + EntryStore.ENTRIES_SUFFIX), List.of(
+                "2024-03-01,Sad,3,6,5,First draft,4.00",
+                "2024-03-02,Happy,8,2,8,Other day,8.00",
+                "2024-03-01,Sad,4,6,5,First draft\\nwith more,4.50",
+                "2024-03-01,Calm,6,6,5,Second draft\\nwith more,6.00"));
+        EntryStore store = store();
+        Map<LocalDate, EntryData> loaded = store.load();
+        assertEquals(2, Files.readAllLines(directory.resolve("user" + EntryStore.ENTRIES_SUFFIX)).size());
+        EntryData legacy = loaded.get(DAY);
+        assertEquals("Second draft\nwith more", legacy.entry());
+
+        long beforeEdit = tick();
+        EntryData current = store.create(DAY, "Calm", 7, 6, 5, "Second draft\nwith more\nand an ending");
+        store.append(DAY, current, legacy);
+
+        List<EntryHistory.Revision> revisions = store().revisions(DAY, store().load().get(DAY));
+        assertEquals(List.of("Second draft\nwith more\nand an ending", "Second draft\nwith more",
+                "First draft\nwith more", "First draft"), revisions.stream().map(r -> r.data().entry()).toList());
+        assertEquals(List.of(7, 6, 4, 3), revisions.stream().map(r -> r.data().moodRating).toList());
+        assertTrue(revisions.get(0).savedAt() > beforeEdit);
+        for (EntryHistory.Revision revision : revisions.subList(1, revisions.size())) {
+            assertEquals(EntryHistory.UNKNOWN_TIME, revision.savedAt());
+        }
+        assertEquals(1, store().revisions(OTHER_DAY, loaded.get(OTHER_DAY)).size());
+
+        // Untimed edits cannot be placed in time, so "as of" any time before the timed edit is the legacy entry
+        EntryData asOf = store().asOf(beforeEdit, store().load()).get(DAY);
+        assertEquals("Second draft\nwith more", asOf.entry());
+        assertEquals(6, asOf.moodRating);
+    }
+
+    @Test
+    void compactionKeepsTheLatestRevisionOfEachDay() throws IOException {
+        EntryStore store = store();
+        store.append(OTHER_DAY, store.create(OTHER_DAY, "Happy", 8, 2, 8, "Other day"), null);
+        EntryData previous = null;
+        for (int i = 0; i <= 40; i++) {
+            EntryData data = store.create(DAY, "Calm", 1 + i % 10, 4, 6, "Revision " + i + " of the day.");
+            store.append(DAY, data, previous);
+            previous = data;
+        }
+        Path entriesFile = directory.resolve("user" + EntryStore.ENTRIES_SUFFIX);
+        assertEquals(42, Files.readAllLines(entriesFile).size());
+
+        Map<LocalDate, EntryData> loaded = store().load();
+        assertEquals(2, Files.readAllLines(entriesFile).size());
+        assertEquals("Revision 40 of the day.", loaded.get(DAY).entry());
+        assertEquals(1, loaded.get(DAY).moodRating);
+        assertEquals("Other day", loaded.get(OTHER_DAY).entry());
+
+        // The replaced lines are gone from the entries file but every revision is still in the history
+        List<EntryHistory.Revision> revisions = store().revisions(DAY, loaded.get(DAY));
+        assertEquals(41, revisions.size());
+        assertEquals("Revision 0 of the day.", revisions.get(40).data().entry());
+        assertEquals(42, Files.readAllLines(directory.resolve("user_history.txt")).size());
+    }
+
+    @Test
+    void undecodableTextStopsTheChainWithPlaceholders() throws IOException {
+        EntryStore store = store();
+        EntryData created = store.create(DAY, "Sad", 3, 6, 5, "Short.");
+        store.append(DAY, created, null);
+        EntryData current = store.create(DAY, "Calm", 6, 6, 5, "A much longer second revision of the day.");
+        store.append(DAY, current, created);
+
+        EntryStore wrongKey = new EntryStore(directory.resolve("user" + EntryStore.ENTRIES_SUFFIX),
+                JournalCipher.derive("battery staple", JournalCipher.newSalt()));
+        List<EntryHistory.Revision> revisions = wrongKey.revisions(DAY, wrongKey.load().get(DAY));
+        assertEquals(2, revisions.size());
+        assertTrue(EntryStore.isUnreadable(revisions.get(0).data().entry()));
+        assertEquals(3, revisions.get(1).data().moodRating);
+        assertFalse(revisions.get(1).data().entry().contains("Short"));
+    }
+
+    private static void assertRevision(EntryData expected, EntryData actual) {
+        assertEquals(expected.entry(), actual.entry());
+        assertEquals(expected.moodType, actual.moodType);
+        assertEquals(expected.moodRating, actual.moodRating);
+        assertEquals(expected.screenTime, actual.screenTime);
+        assertEquals(expected.sleepTime, actual.sleepTime);
+    }
+}
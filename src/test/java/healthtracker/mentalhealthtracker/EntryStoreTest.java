@@ -0,0 +1,96 @@
+package healthtracker.mentalhealthtracker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntryStoreTest {
+    private static final byte[] SALT = JournalCipher.newSalt();
+    private static final JournalCipher CIPHER = JournalCipher.derive("correct horse", SALT);
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    @TempDir
+    Path directory;
+
+    private Path entriesFile() {
+        return directory.resolve("user" + EntryStore.ENTRIES_SUFFIX);
+    }
+
+    private static String text(int day) {
+        return "Day " + day + ". Felt calm after a long walk.\nSpent most of the day on work.";
+    }
+
+    private void writeDays(EntryStore store, int days) throws IOException {
+        for (int i = 0; i < days; i++) {
+            LocalDate date = START.plusDays(i);
+            store.append(date, store.create(date, "Calm", 1 + i % 10, 3, 7, text(i)), null);
+        }
+    }
+
+    @Test
+    void tailIsSealedOnLoadAndReadsBack() throws IOException {
+        EntryStore store = new EntryStore(entriesFile(), CIPHER);
+        writeDays(store, 40);
+        List<String> before = Files.readAllLines(entriesFile());
+        assertTrue(before.stream().noneMatch(line -> line.contains(",z1:")));
+
+        Map<LocalDate, EntryData> loaded = store.load();
+        assertEquals(40, loaded.size());
+        assertTrue(Files.readAllLines(entriesFile()).stream().allMatch(line -> line.contains(",z1:")));
+        assertEquals(1, Files.readAllLines(directory.resolve("user_journal.dict")).size());
+
+        Map<LocalDate, EntryData> reloaded = new EntryStore(entriesFile(), JournalCipher.derive("correct horse", SALT))
+                .load();
+        for (int i = 0; i < 40; i++) {
+            EntryData data = reloaded.get(START.plusDays(i));
+            assertEquals(text(i), data.entry());
+            assertEquals(1 + i % 10, data.moodRating);
+        }
+    }
+
+    @Test
+    void wrongKeyShowsPlaceholdersAndLeavesTheFileAlone() throws IOException {
+        writeDays(new EntryStore(entriesFile(), CIPHER), 40);
+        List<String> before = Files.readAllLines(entriesFile());
+
+        EntryStore wrongKey = new EntryStore(entriesFile(), JournalCipher.derive("battery staple", SALT));
+        Map<LocalDate, EntryData> loaded = wrongKey.load();
+        assertEquals(40, loaded.size());
+        assertTrue(EntryStore.isUnreadable(loaded.get(START).entry()));
+        assertEquals(before, Files.readAllLines(entriesFile()));
+        assertFalse(Files.exists(directory.resolve("user_journal.dict")));
+    }
+
+    @Test
+    void legacyTextThatLooksSealedIsMigrated() throws IOException {
+        Files.write(entriesFile(), List.of(
+                "2024-01-01,Calm,5,3,7,enc:my secret code word,6.00",
+                "2024-01-02,Calm,5,3,7,z1: list for tomorrow,6.00"));
+        Map<LocalDate, EntryData> loaded = new EntryStore(entriesFile(), CIPHER).load();
+        assertEquals("enc:my secret code word", loaded.get(START).entry());
+        assertEquals("z1: list for tomorrow", loaded.get(START.plusDays(1)).entry());
+        assertTrue(Files.readAllLines(entriesFile()).stream()
+                .noneMatch(line -> line.contains("secret") || line.contains("tomorrow")));
+        Map<LocalDate, EntryData> reloaded = new EntryStore(entriesFile(), CIPHER).load();
+        assertEquals("enc:my secret code word", reloaded.get(START).entry());
+        assertEquals("z1: list for tomorrow", reloaded.get(START.plusDays(1)).entry());
+    }
+
+    @Test
+    void sealedEntryCannotBeMovedToAnotherDay() throws IOException {
+        EntryStore store = new EntryStore(entriesFile(), CIPHER);
+        writeDays(store, 40);
+        EntryData sealed = store.load().get(START);
+        assertEquals(text(0), store.decodeEntry(START, sealed.storedEntry));
+        assertTrue(EntryStore.isUnreadable(store.decodeEntry(START.plusDays(1), sealed.storedEntry)));
+    }
+}
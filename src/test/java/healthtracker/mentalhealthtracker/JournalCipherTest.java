@@ -0,0 +1,63 @@
+package healthtracker.mentalhealthtracker;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalCipherTest {
+    private static final byte[] SALT = JournalCipher.newSalt();
+    private static final JournalCipher CIPHER = JournalCipher.derive("correct horse", SALT);
+    private static final byte[] TEXT = "Felt calm after a long walk.\nSlept well.".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void decryptsWhatItEncrypted() throws GeneralSecurityException {
+        String sealed = CIPHER.encrypt(TEXT, "2024-03-01");
+        assertTrue(JournalCipher.isEncrypted(sealed));
+        assertArrayEquals(TEXT, CIPHER.decrypt(sealed, "2024-03-01"));
+    }
+
+    @Test
+    void sameKeyFromSamePasswordAndSalt() throws GeneralSecurityException {
+        JournalCipher again = JournalCipher.derive("correct horse", SALT);
+        assertArrayEquals(TEXT, again.decrypt(CIPHER.encrypt(TEXT, "2024-03-01"), "2024-03-01"));
+        assertTrue(again.matches(CIPHER.verifier()));
+    }
+
+    @Test
+    void everyEncryptionUsesAFreshNonce() {
+        assertNotEquals(CIPHER.encrypt(TEXT, "2024-03-01"), CIPHER.encrypt(TEXT, "2024-03-01"));
+    }
+
+    @Test
+    void plainTextStartingWithThePrefixIsNotSealed() {
+        assertFalse(JournalCipher.isEncrypted("enc:my secret code word"));
+        assertFalse(JournalCipher.isEncrypted("enc:"));
+        assertFalse(JournalCipher.isEncrypted("enc:QUJD"));
+        assertFalse(JournalCipher.isEncrypted(CIPHER.encrypt(TEXT, "2024-03-01") + " and more"));
+        assertTrue(JournalCipher.isEncrypted(CIPHER.encrypt(new byte[0], "2024-03-01")));
+    }
+
+    @Test
+    void wrongKeyFailsAuthentication() {
+        JournalCipher wrongPassword = JournalCipher.derive("battery staple", SALT);
+        JournalCipher wrongSalt = JournalCipher.derive("correct horse", JournalCipher.newSalt());
+        String sealed = CIPHER.encrypt(TEXT, "2024-03-01");
+        assertThrows(GeneralSecurityException.class, () -> wrongPassword.decrypt(sealed, "2024-03-01"));
+        assertThrows(GeneralSecurityException.class, () -> wrongSalt.decrypt(sealed, "2024-03-01"));
+        assertFalse(wrongPassword.matches(CIPHER.verifier()));
+    }
+
+    @Test
+    void textMovedToAnotherDayFailsAuthentication() {
+        String sealed = CIPHER.encrypt(TEXT, "2024-03-01");
+        assertThrows(GeneralSecurityException.class, () -> CIPHER.decrypt(sealed, "2024-03-02"));
+        assertThrows(GeneralSecurityException.class, () -> CIPHER.decrypt(sealed, ""));
+    }
+}
@@ -0,0 +1,100 @@
+package healthtracker.mentalhealthtracker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalCompressorTest {
+    private static final JournalCipher CIPHER = JournalCipher.derive("correct horse", JournalCipher.newSalt());
+    private static final List<String> FIRST_YEAR = List.of(
+            "Felt calm after a long walk. Spent most of the day on work and ended up feeling tired.",
+            "Woke up anxious, so I started with reading. Felt calm after a long walk.",
+            "Felt calm after a long walk. Today was mostly studying and I am focused.");
+    private static final List<String> SECOND_YEAR = List.of(
+            "Went climbing with Sam and felt great. Cooked a curry for dinner.",
+            "Went climbing with Sam and felt great. Could not stop feeling restless, even during a meeting.");
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsWithAndWithoutAKey() throws IOException, GeneralSecurityException, DataFormatException {
+        for (JournalCipher cipher : new JournalCipher[]{null, CIPHER}) {
+            JournalCompressor compressor = new JournalCompressor(
+                    directory.resolve((cipher == null ? "plain" : "sealed") + "_journal.dict"), cipher);
+            compressor.addDictionary(JournalCompressor.buildDictionary(FIRST_YEAR));
+            String text = "Felt calm after a long walk.\nThen a nap, with a comma, and ünïcödé.";
+            String field = compressor.compress(text, "2024-03-01");
+            assertTrue(JournalCompressor.isCompressed(field));
+            assertEquals(cipher != null, JournalCipher.isEncrypted(field.substring(field.indexOf(':') + 1)));
+            assertEquals(text, compressor.decompress(field, "2024-03-01"));
+        }
+    }
+
+    @Test
+    void entriesKeepDecodingAcrossDictionaryGenerations()
+            throws IOException, GeneralSecurityException, DataFormatException {
+        Path dictionaryFile = directory.resolve("user_journal.dict");
+        JournalCompressor compressor = new JournalCompressor(dictionaryFile, CIPHER);
+        assertEquals(0, compressor.currentDictionaryId());
+        compressor.addDictionary(JournalCompressor.buildDictionary(FIRST_YEAR));
+        String first = compressor.compress(FIRST_YEAR.get(0), "2024-03-01");
+        compressor.addDictionary(JournalCompressor.buildDictionary(SECOND_YEAR));
+        String second = compressor.compress(SECOND_YEAR.get(1), "2025-03-01");
+        assertTrue(first.startsWith("z1:"));
+        assertTrue(second.startsWith("z2:"));
+        assertEquals(2, Files.readAllLines(dictionaryFile).size());
+
+        // A fresh instance has to read both generations back from the dictionary file
+        JournalCompressor reopened = new JournalCompressor(dictionaryFile, CIPHER);
+        assertEquals(2, reopened.currentDictionaryId());
+        assertEquals(FIRST_YEAR.get(0), reopened.decompress(first, "2024-03-01"));
+        assertEquals(SECOND_YEAR.get(1), reopened.decompress(second, "2025-03-01"));
+    }
+
+    @Test
+    void plainTextThatLooksCompressedIsNot() {
+        assertFalse(JournalCompressor.isCompressed("z1: list for tomorrow"));
+        assertFalse(JournalCompressor.isCompressed("z1:enc:my secret code word"));
+        assertFalse(JournalCompressor.isCompressed("zz:QUJD"));
+        assertFalse(JournalCompressor.isCompressed("z:QUJD"));
+        assertFalse(JournalCompressor.isCompressed("z12a:QUJD"));
+        assertTrue(JournalCompressor.isCompressed("z12:QUJD"));
+    }
+
+    @Test
+    void dictionaryShrinksTextItWasTrainedOn() throws IOException, GeneralSecurityException {
+        JournalCompressor compressor = new JournalCompressor(directory.resolve("user_journal.dict"), null);
+        compressor.addDictionary(new byte[0]);
+        String text = FIRST_YEAR.get(1);
+        int withoutDictionary = compressor.compressedSize(text, null);
+        assertTrue(compressor.compressedSize(text, JournalCompressor.buildDictionary(FIRST_YEAR)) < withoutDictionary);
+    }
+
+    @Test
+    void wrongDateOrKeyOrMissingDictionaryFails() throws IOException, GeneralSecurityException {
+        Path dictionaryFile = directory.resolve("user_journal.dict");
+        JournalCompressor compressor = new JournalCompressor(dictionaryFile, CIPHER);
+        compressor.addDictionary(JournalCompressor.buildDictionary(FIRST_YEAR));
+        String field = compressor.compress(FIRST_YEAR.get(2), "2024-03-01");
+        assertThrows(GeneralSecurityException.class, () -> compressor.decompress(field, "2024-03-02"));
+
+        JournalCompressor wrongKey = new JournalCompressor(dictionaryFile,
+                JournalCipher.derive("battery staple", JournalCipher.newSalt()));
+        assertThrows(GeneralSecurityException.class, () -> wrongKey.decompress(field, "2024-03-01"));
+
+        JournalCompressor noDictionaries = new JournalCompressor(directory.resolve("other_journal.dict"), CIPHER);
+        assertFalse(noDictionaries.hasDictionary());
+        assertThrows(GeneralSecurityException.class, () -> noDictionaries.decompress(field, "2024-03-01"));
+    }
+}
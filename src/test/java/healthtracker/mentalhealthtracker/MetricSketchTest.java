@@ -0,0 +1,103 @@
+package healthtracker.mentalhealthtracker;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetricSketchTest {
+
+    private static MetricSketch sketchOf(double... values) {
+        MetricSketch sketch = new MetricSketch(0, 10, 1);
+        for (double value : values) {
+            sketch.add(value);
+        }
+        return sketch;
+    }
+
+    @Test
+    void mergeAddsBinsAndSummaries() {
+        MetricSketch merged = sketchOf(2, 4);
+        merged.merge(sketchOf(4, 9));
+        assertEquals(4, merged.getCount());
+        assertEquals(4.75, merged.getAverage());
+        assertEquals(2, merged.getMin());
+        assertEquals(9, merged.getMax());
+        assertArrayEquals(new long[]{0, 0, 1, 0, 2, 0, 0, 0, 0, 1, 0}, merged.histogram());
+    }
+
+    @Test
+    void mergeRejectsDifferentBounds() {
+        MetricSketch sketch = sketchOf(5);
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new MetricSketch(0, 24, 1)));
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new MetricSketch(1, 11, 1)));
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new MetricSketch(0, 10, 0.5)));
+        assertEquals(1, sketch.getCount());
+    }
+
+    @Test
+    void quantilesLandOnBinEdges() {
+        MetricSketch sketch = sketchOf(2, 2, 8, 8);
+        assertEquals(2, sketch.quantile(0));
+        assertEquals(2, sketch.quantile(0.5));
+        assertEquals(8, sketch.quantile(0.51));
+        assertEquals(8, sketch.quantile(1));
+        MetricSketch oneToTen = sketchOf(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertEquals(1, oneToTen.quantile(0.1));
+        assertEquals(5, oneToTen.quantile(0.5));
+        assertEquals(9, oneToTen.quantile(0.9));
+    }
+
+    @Test
+    void emptySketchReportsZeros() {
+        MetricSketch empty = new MetricSketch(0, 10, 0.1);
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.quantile(0.5));
+        assertEquals(0, empty.getAverage());
+        assertEquals(0, empty.getMin());
+        assertEquals(0, empty.getMax());
+    }
+
+    @Test
+    void outOfRangeValuesCountInTheEdgeBins() {
+        MetricSketch sketch = sketchOf(-3, 14);
+        assertEquals(1, sketch.histogram()[0]);
+        assertEquals(1, sketch.histogram()[10]);
+        assertEquals(-3, sketch.getMin());
+        assertEquals(14, sketch.getMax());
+    }
+
+    @Test
+    void copyIsIndependentOfItsSource() {
+        MetricSketch original = sketchOf(3);
+        MetricSketch copy = original.copy();
+        original.add(7);
+        copy.add(1);
+        assertEquals(2, original.getCount());
+        assertEquals(7, original.getMax());
+        assertEquals(2, copy.getCount());
+        assertEquals(3, copy.getMax());
+    }
+
+    @Test
+    void mergingCohortStatsLeavesCachedPartialsAlone() {
+        LocalDate monday = LocalDate.of(2024, 3, 4);
+        CohortStats partial = new CohortStats();
+        partial.add(monday, "Calm", 6, 3, 7);
+        CohortStats other = new CohortStats();
+        other.add(monday.plusDays(1), "Happy", 9, 2, 8);
+
+        CohortStats total = new CohortStats();
+        total.merge(partial);
+        total.merge(other);
+        assertEquals(2, total.getWeeklyMentalHealthIndex().get(CohortStats.isoWeek(monday)).getCount());
+        assertEquals(1, partial.getWeeklyMentalHealthIndex().get(CohortStats.isoWeek(monday)).getCount());
+
+        CohortStats again = new CohortStats();
+        again.merge(partial);
+        assertEquals(1, again.getWeeklyMentalHealthIndex().get(CohortStats.isoWeek(monday)).getCount());
+    }
+}
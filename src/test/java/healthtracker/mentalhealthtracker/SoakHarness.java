@@ -0,0 +1,241 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Drives the tracker's login, load, save and statistics paths headlessly against a data directory,
+// one simulated session per cycle, and reports how they behave over time: latency percentiles for each
+// step, live heap after GC, and collection counts and time per reporting window. A directory without a
+// users.txt is filled by SyntheticDataGenerator first, using the same options.
+//
+// Options (all optional): --dir <path> --cycles <n> --report-every <n> --seed <n>
+// --check-in-rate <0-1> --entries-view-rate <0-1> --history-rate <0-1>, plus the generator's options.
+class SoakHarness {
+    private static final String[] STEPS = {"login", "load", "save", "check-in", "stats", "entries", "history", "cycle"};
+    private final Path directory;
+    private final UserAccounts accounts;
+    private final List<String> usernames;
+    private final Random random;
+    private final double checkInRate;
+    private final double entriesViewRate;
+    private final double historyRate;
+    private final Map<String, LatencyLog> latencies = new LinkedHashMap<>();
+    private double decodeMicros;
+    private int entriesViews;
+
+    SoakHarness(Path directory, long seed, double checkInRate, double entriesViewRate, double historyRate) {
+        this.directory = directory;
+        this.accounts = new UserAccounts(directory.resolve("users.txt"));
+        this.usernames = accounts.usernames();
+        this.random = new Random(seed);
+        this.checkInRate = checkInRate;
+        this.entriesViewRate = entriesViewRate;
+        this.historyRate = historyRate;
+        for (String step : STEPS) {
+            latencies.put(step, new LatencyLog());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = SyntheticDataGenerator.parseOptions(args);
+        Path directory = Paths.get(options.getOrDefault("dir", "synthetic-data"));
+        if (!Files.exists(directory.resolve("users.txt"))) {
+            int users = Integer.parseInt(options.getOrDefault("users", "20"));
+            System.out.printf("No users.txt in %s, generating %d users%n", directory.toAbsolutePath(), users);
+            SyntheticDataGenerator.fromOptions(options).generate(directory, users);
+        }
+        SoakHarness harness = new SoakHarness(directory,
+                Long.parseLong(options.getOrDefault("seed", "7")),
+                Double.parseDouble(options.getOrDefault("check-in-rate", "0.3")),
+                Double.parseDouble(options.getOrDefault("entries-view-rate", "0.1")),
+                Double.parseDouble(options.getOrDefault("history-rate", "0.05")));
+        harness.run(Integer.parseInt(options.getOrDefault("cycles", "500")),
+                Integer.parseInt(options.getOrDefault("report-every", "50")));
+    }
+
+    void run(int cycles, int reportEvery) throws IOException {
+        if (usernames.isEmpty()) {
+            throw new IllegalStateException("No users in " + directory.toAbsolutePath());
+        }
+        System.out.printf("Soaking %d users for %d cycles%n", usernames.size(), cycles);
+        System.out.printf("%8s %9s %9s %9s %9s %11s %11s %8s %9s %6s%n", "cycles", "elapsed s", "p50 ms",
+                "p95 ms", "p99 ms", "heap MB", "live MB", "GCs", "GC ms", "GC %");
+        long start = System.nanoTime();
+        GcSample window = GcSample.now();
+        GcSample total = new GcSample(0, 0, 0);
+        double firstLive = Double.NaN;
+        double lastLive = Double.NaN;
+        LatencyLog windowCycles = new LatencyLog();
+        for (int i = 1; i <= cycles; i++) {
+            long cycleStart = System.nanoTime();
+            cycle(usernames.get(random.nextInt(usernames.size())));
+            long elapsed = System.nanoTime() - cycleStart;
+            latencies.get("cycle").add(elapsed);
+            windowCycles.add(elapsed);
+            if (i % reportEvery == 0 || i == cycles) {
+                GcSample delta = GcSample.now().minus(window);
+                total = total.plus(delta);
+                double heap = usedHeapMegabytes();
+                lastLive = liveHeapMegabytes();
+                if (Double.isNaN(firstLive)) {
+                    firstLive = lastLive;
+                }
+                System.out.printf("%8d %9.1f %9.1f %9.1f %9.1f %11.1f %11.1f %8d %9d %6.1f%n", i,
+                        (System.nanoTime() - start) / 1e9, windowCycles.percentile(50) / 1e6,
+                        windowCycles.percentile(95) / 1e6, windowCycles.percentile(99) / 1e6,
+                        heap, lastLive, delta.collections, delta.collectionMillis, delta.gcPercent());
+                // Sampled after the forced collection so it is not counted against the next window
+                window = GcSample.now();
+                windowCycles = new LatencyLog();
+            }
+        }
+        report(total, firstLive, lastLive);
+    }
+
+    // One session as the tracker would run it: log in, load, save an entry, sometimes add a check-in,
+    // open both statistics windows, and sometimes browse every entry or one day's history.
+    private void cycle(String username) throws IOException {
+        JournalCipher cipher = time("login", () -> accounts.login(username, SyntheticDataGenerator.passwordFor(username)));
+        if (cipher == null) {
+            throw new IllegalStateException("Login failed for " + username);
+        }
+        EntryStore store = new EntryStore(directory.resolve(username + EntryStore.ENTRIES_SUFFIX), cipher);
+        UserJournal journal = new UserJournal(store, new CheckInStore(directory, username));
+        Map<LocalDate, EntryData> entries = time("load", journal::load);
+        LocalDate date = LocalDate.now().minusDays(random.nextInt(30));
+        time("save", () -> entries.put(date, journal.save(date, entries.get(date), "Calm", 1 + random.nextInt(10),
+                random.nextInt(12), 4 + random.nextInt(6), "Soak test entry written at " + LocalTime.now() + ".")));
+        if (random.nextDouble() < checkInRate) {
+            time("check-in", () -> entries.put(date, journal.checkIn(date,
+                    new CheckInStore.CheckIn(LocalTime.now().truncatedTo(ChronoUnit.MINUTES), "Happy",
+                            1 + random.nextInt(10)), entries.get(date))));
+        }
+        time("stats", () -> {
+            int weeks = EntryStatistics.weeklyAverages(entries, data -> data.screenTime).size();
+            weeks += EntryStatistics.weeklyAverages(entries, data -> data.sleepTime).size();
+            EntryStatistics.summary(entries, data -> data.screenTime);
+            EntryStatistics.summary(entries, data -> data.sleepTime);
+            return weeks;
+        });
+        if (random.nextDouble() < entriesViewRate) {
+            time("entries", () -> {
+                long characters = 0;
+                for (EntryData data : entries.values()) {
+                    characters += data.entry().length();
+                }
+                return characters;
+            });
+            decodeMicros += store.averageDecodeMicros();
+            entriesViews++;
+        }
+        if (random.nextDouble() < historyRate) {
+            time("history", () -> {
+                journal.revisions(date, entries.get(date));
+                return journal.asOf(System.currentTimeMillis() - ChronoUnit.DAYS.getDuration().toMillis(), entries);
+            });
+        }
+    }
+
+    private void report(GcSample gc, double firstLive, double lastLive) {
+        System.out.printf("%n%-10s %8s %10s %10s %10s %10s%n", "step", "count", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        latencies.forEach((step, log) -> {
+            if (log.size > 0) {
+                System.out.printf("%-10s %8d %10.2f %10.2f %10.2f %10.2f%n", step, log.size, log.percentile(50) / 1e6,
+                        log.percentile(95) / 1e6, log.percentile(99) / 1e6, log.percentile(100) / 1e6);
+            }
+        });
+        System.out.printf("""
+
+                        Live heap: %.1f MB at the first report, %.1f MB at the last (%+.1f MB)
+                        GC: %d collections, %d ms (%.1f%% of %.1f s measured)
+                        Journal decode: %.1f us per entry, averaged over %d entries views
+                        """, firstLive, lastLive, lastLive - firstLive, gc.collections, gc.collectionMillis, gc.gcPercent(),
+                gc.nanos / 1e9,
+                entriesViews == 0 ? 0 : decodeMicros / entriesViews, entriesViews);
+    }
+
+    private interface Step<T> {
+        T run() throws IOException;
+    }
+
+    private <T> T time(String step, Step<T> body) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return body.run();
+        } finally {
+            latencies.get(step).add(System.nanoTime() - start);
+        }
+    }
+
+    private static double usedHeapMegabytes() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024.0 * 1024);
+    }
+
+    // Heap still in use after a full collection, i.e. the retained set rather than garbage waiting to be
+    // collected. The forced collection is left out of the reported GC figures.
+    private static double liveHeapMegabytes() {
+        System.gc();
+        return usedHeapMegabytes();
+    }
+
+    private record GcSample(long nanos, long collections, long collectionMillis) {
+        static GcSample now() {
+            long collections = 0;
+            long millis = 0;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                collections += Math.max(0, collector.getCollectionCount());
+                millis += Math.max(0, collector.getCollectionTime());
+            }
+            return new GcSample(System.nanoTime(), collections, millis);
+        }
+
+        GcSample minus(GcSample earlier) {
+            return new GcSample(nanos - earlier.nanos, collections - earlier.collections,
+                    collectionMillis - earlier.collectionMillis);
+        }
+
+        GcSample plus(GcSample other) {
+            return new GcSample(nanos + other.nanos, collections + other.collections,
+                    collectionMillis + other.collectionMillis);
+        }
+
+        // Only meaningful for a difference of two samples
+        double gcPercent() {
+            return nanos == 0 ? 0 : collectionMillis * 1e8 / nanos;
+        }
+    }
+
+    private static class LatencyLog {
+        private long[] nanos = new long[64];
+        private int size;
+
+        void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        // Nearest-rank percentile
+        long percentile(double percent) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return sorted[Math.max(0, (int) Math.ceil(percent / 100 * size) - 1)];
+        }
+    }
+}
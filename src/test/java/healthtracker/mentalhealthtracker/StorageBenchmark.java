@@ -0,0 +1,115 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Compares loading a plain-text entries file against the same history stored encrypted and
+// compressed, both the way the tracker loads it (journal text decoded on demand) and with every
+// entry decoded, then reports the compression ratio and the cost of decoding a single day.
+// Both histories are written one day at a time with a login (load) after every save, as a user
+// would, so dictionary generations accumulate the way they do in real use.
+class StorageBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : 3650;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        Path directory = Files.createTempDirectory("storage-benchmark");
+        JournalCipher cipher = JournalCipher.derive("benchmark", JournalCipher.newSalt());
+        Path secureFile = directory.resolve("secure" + EntryStore.ENTRIES_SUFFIX);
+        EntryStore plain = new EntryStore(directory.resolve("plain" + EntryStore.ENTRIES_SUFFIX), null);
+        EntryStore secure = new EntryStore(secureFile, cipher);
+        populate(plain, days);
+        populate(secure, days);
+        for (int i = 0; i < rounds; i++) {
+            load(plain, true);
+            load(secure, true);
+        }
+        System.out.printf("Entries: %d%n", days);
+        report("Load", rounds, plain, secure, false);
+        report("Load and read every entry", rounds, plain, secure, true);
+        reportCompression(secureFile, cipher);
+    }
+
+    private static void report(String name, int rounds, EntryStore plain, EntryStore secure,
+                               boolean readEntries) {
+        long plainNanos = 0;
+        long secureNanos = 0;
+        for (int i = 0; i < rounds; i++) {
+            plainNanos += load(plain, readEntries);
+            secureNanos += load(secure, readEntries);
+        }
+        System.out.printf("%s: plain-text %.2f ms, encrypted and compressed %.2f ms, overhead %.1f%%%n", name,
+                plainNanos / 1e6 / rounds, secureNanos / 1e6 / rounds,
+                (secureNanos - plainNanos) * 100.0 / plainNanos);
+    }
+
+    // Compares the sealed journal fields with the same text encrypted without compression
+    private static void reportCompression(Path entriesFile, JournalCipher cipher) throws IOException {
+        EntryStore store = new EntryStore(entriesFile, cipher);
+        Map<LocalDate, EntryData> entries = store.load();
+        long textBytes = 0;
+        long uncompressedBytes = 0;
+        long storedBytes = 0;
+        for (Map.Entry<LocalDate, EntryData> entry : entries.entrySet()) {
+            String text = entry.getValue().entry();
+            textBytes += text.getBytes(StandardCharsets.UTF_8).length;
+            uncompressedBytes += store.encodeEntry(entry.getKey(), text).length();
+            storedBytes += entry.getValue().storedEntry.length();
+        }
+        Path dictionaryFile = entriesFile.resolveSibling(entriesFile.getFileName().toString()
+                .replace(EntryStore.ENTRIES_SUFFIX, "_journal.dict"));
+        long dictionaryBytes = Files.exists(dictionaryFile) ? Files.size(dictionaryFile) : 0;
+        long generations = Files.exists(dictionaryFile) ? Files.readAllLines(dictionaryFile).size() : 0;
+        List<LocalDate> dates = new ArrayList<>(entries.keySet());
+        Random random = new Random(7);
+        EntryStore cold = new EntryStore(entriesFile, cipher);
+        Map<LocalDate, EntryData> reloaded = cold.load();
+        for (int i = 0; i < Math.min(1000, dates.size()); i++) {
+            reloaded.get(dates.get(random.nextInt(dates.size()))).entry();
+        }
+        System.out.printf("""
+                        Journal text: %d KB, encrypted %d KB, encrypted and compressed %d KB (+%d KB in %d dictionaries)
+                        Compression ratio, dictionaries included: %.2fx
+                        Single entry decode: %.1f us
+                        """, textBytes / 1024, uncompressedBytes / 1024, storedBytes / 1024, dictionaryBytes / 1024,
+                generations,
+                (double) uncompressedBytes / (storedBytes + dictionaryBytes), cold.averageDecodeMicros());
+    }
+
+    static void populate(EntryStore store, int days) throws IOException {
+        Random random = new Random(42);
+        SyntheticDataGenerator generator = SyntheticDataGenerator.fromOptions(Map.of());
+        String habit = generator.sentence(5);
+        LocalDate start = LocalDate.now().minusDays(days);
+        for (int i = 0; i < days; i++) {
+            LocalDate date = start.plusDays(i);
+            int rating = 1 + random.nextInt(10);
+            store.append(date, store.create(date, "Calm", rating, random.nextInt(10),
+                    4 + random.nextInt(6), generator.journal(rating, habit)), null);
+            store.load();
+        }
+    }
+
+    private static long load(EntryStore store, boolean readEntries) {
+        long start = System.nanoTime();
+        Map<LocalDate, EntryData> entries = store.load();
+        long characters = 0;
+        if (readEntries) {
+            for (EntryData data : entries.values()) {
+                characters += data.entry().length();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (entries.isEmpty() || readEntries && characters == 0) {
+            throw new IllegalStateException("Benchmark loaded no entries");
+        }
+        return elapsed;
+    }
+}
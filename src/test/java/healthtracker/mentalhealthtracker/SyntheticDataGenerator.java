@@ -0,0 +1,190 @@
+package healthtracker.mentalhealthtracker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Writes synthetic users and years of history into a directory in the same files the tracker reads:
+// users.txt, and per user the entries, history, journal dictionary and check-in files. Every file goes
+// through UserAccounts and UserJournal, so the output is exactly what the app would write.
+//
+// Options (all optional): --dir <path> --users <n> --years <n> --activity <0-1> --check-ins <per day>
+// --edits <0-1> --sentences <per entry> --seed <n>. Each user's password is passwordFor(username).
+class SyntheticDataGenerator {
+    // Both ordered from the lowest mood rating to the highest
+    private static final String[] MOOD_TYPES = {"Angry", "Sad", "Anxious", "Calm", "Energetic", "Happy"};
+    private static final String[] FEELINGS = {
+            "drained", "anxious", "irritable", "restless", "tired", "calm", "focused", "content", "hopeful", "grateful"
+    };
+    private static final String[] ACTIVITIES = {
+            "a long walk", "work", "a call with my family", "cooking dinner", "the gym", "a meeting",
+            "reading", "cleaning the flat", "scrolling on my phone", "seeing friends", "studying", "a nap"
+    };
+    private static final String[] TEMPLATES = {
+            "Felt %s after %s.",
+            "Spent most of the day on %2$s and ended up feeling %1$s.",
+            "Woke up %s, so I started with %s.",
+            "Could not stop feeling %s, even during %s.",
+            "Tried %2$s to take my mind off things and felt %1$s.",
+            "Today was mostly %2$s and I am %1$s."
+    };
+    private final Random random;
+    private final int years;
+    private final double activity;
+    private final double checkInsPerDay;
+    private final double editRate;
+    private final int sentences;
+
+    SyntheticDataGenerator(long seed, int years, double activity, double checkInsPerDay, double editRate,
+                           int sentences) {
+        this.random = new Random(seed);
+        this.years = years;
+        this.activity = activity;
+        this.checkInsPerDay = checkInsPerDay;
+        this.editRate = editRate;
+        this.sentences = sentences;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        Path directory = Paths.get(options.getOrDefault("dir", "synthetic-data"));
+        int users = Integer.parseInt(options.getOrDefault("users", "20"));
+        long start = System.nanoTime();
+        fromOptions(options).generate(directory, users);
+        System.out.printf("Generated %d users in %s (%.1f s)%n", users, directory.toAbsolutePath(),
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    static SyntheticDataGenerator fromOptions(Map<String, String> options) {
+        return new SyntheticDataGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("years", "3")),
+                Double.parseDouble(options.getOrDefault("activity", "0.8")),
+                Double.parseDouble(options.getOrDefault("check-ins", "0.5")),
+                Double.parseDouble(options.getOrDefault("edits", "0.05")),
+                Integer.parseInt(options.getOrDefault("sentences", "4")));
+    }
+
+    // "--name value" pairs; a flag without a value maps to "true"
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            options.put(args[i].substring(2), hasValue ? args[++i] : "true");
+        }
+        return options;
+    }
+
+    static String usernameFor(int index) {
+        return String.format("user%04d", index);
+    }
+
+    static String passwordFor(String username) {
+        return username + "-password";
+    }
+
+    void generate(Path directory, int users) throws IOException {
+        Files.createDirectories(directory);
+        UserAccounts accounts = new UserAccounts(directory.resolve("users.txt"));
+        for (int i = 0; i < users; i++) {
+            String username = usernameFor(i);
+            if (!accounts.createUser(username, passwordFor(username))) {
+                continue;
+            }
+            UserJournal journal = UserJournal.inDirectory(directory, username,
+                    accounts.login(username, passwordFor(username)));
+            generateUser(journal);
+            // Logging in once leaves the entries sealed and compressed, as they would be for an active user
+            journal.load();
+        }
+    }
+
+    // Each user gets their own baseline, spread and journaling habits; days then vary around it with a
+    // yearly season, weekends and a slowly drifting mood.
+    private void generateUser(UserJournal journal) throws IOException {
+        double baseMood = clamp(random.nextGaussian() * 1.5 + 6, 2, 9);
+        double moodSpread = 0.8 + random.nextDouble() * 1.5;
+        double baseSleep = clamp(random.nextGaussian() * 0.8 + 7.2, 4.5, 9.5);
+        double baseScreen = clamp(random.nextGaussian() * 1.5 + 4, 1, 9);
+        double userActivity = clamp(activity + random.nextGaussian() * 0.1, 0.05, 1);
+        String habit = sentence(random.nextDouble() * 10);
+        double drift = 0;
+        LocalDate end = LocalDate.now();
+        for (LocalDate date = end.minusYears(years).plusDays(1); !date.isAfter(end); date = date.plusDays(1)) {
+            drift = drift * 0.9 + random.nextGaussian() * 0.4;
+            if (random.nextDouble() > userActivity) {
+                continue;
+            }
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+            double season = Math.cos(2 * Math.PI * (date.getDayOfYear() - 172) / 365.0);
+            double mood = baseMood + season * 0.6 + drift + random.nextGaussian() * moodSpread;
+            int sleep = (int) Math.round(clamp(baseSleep + (weekend ? 0.8 : 0) + random.nextGaussian(), 2, 12));
+            int screen = (int) Math.round(clamp(baseScreen + (weekend ? 1.5 : 0) - (mood - baseMood) * 0.3
+                    + random.nextGaussian() * 1.2, 0, 16));
+            int rating = (int) Math.round(clamp(mood, 1, 10));
+            String moodType = moodType(rating);
+            // Check-ins come in through the day, before the evening's entry
+            for (CheckInStore.CheckIn checkIn : generateCheckIns(mood, moodSpread)) {
+                journal.checkIn(date, checkIn, null);
+            }
+            String entry = journal(rating, habit);
+            EntryData data = journal.save(date, null, moodType, rating, screen, sleep, entry);
+            if (random.nextDouble() < editRate) {
+                journal.save(date, data, moodType, (int) clamp(rating + random.nextInt(3) - 1, 1, 10),
+                        screen, sleep, entry + " " + sentence(rating));
+            }
+        }
+    }
+
+    private List<CheckInStore.CheckIn> generateCheckIns(double mood, double moodSpread) {
+        List<CheckInStore.CheckIn> checkIns = new ArrayList<>();
+        double threshold = Math.exp(-checkInsPerDay);
+        double product = random.nextDouble();
+        int minute = 7 * 60 + random.nextInt(120);
+        while (product > threshold && minute < 24 * 60) {
+            int rating = (int) Math.round(clamp(mood + random.nextGaussian() * moodSpread * 0.7, 1, 10));
+            checkIns.add(new CheckInStore.CheckIn(LocalTime.of(minute / 60, minute % 60), moodType(rating), rating));
+            minute += 60 + random.nextInt(240);
+            product *= random.nextDouble();
+        }
+        return checkIns;
+    }
+
+    // Low ratings lean towards the negative mood types and high ratings towards the positive ones
+    private String moodType(int rating) {
+        double position = clamp((rating - 1) / 9.0 + random.nextGaussian() * 0.2, 0, 0.999);
+        return MOOD_TYPES[(int) (position * MOOD_TYPES.length)];
+    }
+
+    String journal(int rating, String habit) {
+        StringBuilder entry = new StringBuilder();
+        int count = Math.max(1, sentences + (int) Math.round(random.nextGaussian() * sentences / 3.0));
+        for (int i = 0; i < count; i++) {
+            entry.append(i > 0 ? (random.nextInt(6) == 0 ? "\n" : " ") : "");
+            entry.append(random.nextInt(4) == 0 ? habit : sentence(rating));
+        }
+        return entry.toString();
+    }
+
+    String sentence(double rating) {
+        int feeling = (int) clamp(rating / 10 * FEELINGS.length + random.nextGaussian() * 2, 0, FEELINGS.length - 1);
+        return String.format(TEMPLATES[random.nextInt(TEMPLATES.length)],
+                FEELINGS[feeling], ACTIVITIES[random.nextInt(ACTIVITIES.length)]);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}